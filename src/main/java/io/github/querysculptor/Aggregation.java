@@ -0,0 +1,145 @@
+package io.github.querysculptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes the group-by paths and aggregate functions of an aggregation query. Each selected
+ * value can be read back from the resulting {@link jakarta.persistence.Tuple} by its alias; group-by
+ * paths are aliased by their path, aggregates by {@code function_path} (dots replaced by
+ * underscores) unless an explicit alias is given.
+ *
+ * <pre>{@code
+ * Aggregation.groupBy("status").count().sum("amount", "total")
+ * }</pre>
+ */
+public class Aggregation {
+
+  public enum Function {
+    COUNT,
+
+    COUNT_DISTINCT,
+
+    SUM,
+
+    AVG,
+
+    MIN,
+
+    MAX;
+  }
+
+  public static class Aggregate {
+    private final Function function;
+    private final String path;
+    private final String alias;
+
+    public Aggregate(Function function, String path, String alias) {
+      Assert.notNull(function, "function must be not null");
+      this.function = function;
+      this.path = path;
+      this.alias = alias != null ? alias : defaultAlias(function, path);
+    }
+
+    public Function getFunction() {
+      return function;
+    }
+
+    /**
+     * @return The aggregated attribute path, or {@code null} for {@code count(*)}.
+     */
+    public String getPath() {
+      return path;
+    }
+
+    public String getAlias() {
+      return alias;
+    }
+
+    private static String defaultAlias(Function function, String path) {
+      String name = function.name().toLowerCase(Locale.ROOT);
+      return path == null ? name : name + "_" + aliasOf(path);
+    }
+  }
+
+  private final List<String> groupBy = new ArrayList<>();
+  private final List<Aggregate> aggregates = new ArrayList<>();
+
+  private Aggregation() {}
+
+  public static Aggregation groupBy(String... paths) {
+    Aggregation aggregation = new Aggregation();
+    aggregation.groupBy.addAll(Arrays.asList(paths));
+    return aggregation;
+  }
+
+  public static Aggregation ungrouped() {
+    return groupBy();
+  }
+
+  public Aggregation count() {
+    return aggregate(Function.COUNT, null, null);
+  }
+
+  public Aggregation count(String path) {
+    return aggregate(Function.COUNT, path, null);
+  }
+
+  public Aggregation countDistinct(String path) {
+    return aggregate(Function.COUNT_DISTINCT, path, null);
+  }
+
+  public Aggregation sum(String path) {
+    return aggregate(Function.SUM, path, null);
+  }
+
+  public Aggregation sum(String path, String alias) {
+    return aggregate(Function.SUM, path, alias);
+  }
+
+  public Aggregation avg(String path) {
+    return aggregate(Function.AVG, path, null);
+  }
+
+  public Aggregation avg(String path, String alias) {
+    return aggregate(Function.AVG, path, alias);
+  }
+
+  public Aggregation min(String path) {
+    return aggregate(Function.MIN, path, null);
+  }
+
+  public Aggregation min(String path, String alias) {
+    return aggregate(Function.MIN, path, alias);
+  }
+
+  public Aggregation max(String path) {
+    return aggregate(Function.MAX, path, null);
+  }
+
+  public Aggregation max(String path, String alias) {
+    return aggregate(Function.MAX, path, alias);
+  }
+
+  public Aggregation aggregate(Function function, String path, String alias) {
+    if (path == null && function != Function.COUNT) {
+      throw new IllegalArgumentException(function + " requires an attribute path");
+    }
+    aggregates.add(new Aggregate(function, path, alias));
+    return this;
+  }
+
+  public List<String> getGroupBy() {
+    return groupBy;
+  }
+
+  public List<Aggregate> getAggregates() {
+    return aggregates;
+  }
+
+  static String aliasOf(String path) {
+    return path.replace('.', '_');
+  }
+}
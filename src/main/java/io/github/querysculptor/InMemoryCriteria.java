@@ -0,0 +1,545 @@
+package io.github.querysculptor;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A reflective-proxy implementation of the subset of {@link CriteriaBuilder}, {@link Root}, {@link
+ * Path} and {@link Predicate} needed to carve a {@link QuerySculptor} into an evaluator tree.
+ *
+ * <p>Proxies are only involved while carving. The resulting tree is made of plain functions whose
+ * property reads go through {@link MethodHandle}s resolved once per class and attribute, so
+ * evaluating a row does no reflective lookup. Predicates follow SQL three-valued logic: a
+ * comparison involving {@code null} is unknown, and only rows evaluating to {@code true} match.
+ */
+final class InMemoryCriteria {
+
+  private static final CriteriaBuilder BUILDER =
+      proxy(CriteriaBuilder.class, new BuilderHandler());
+
+  private static final CriteriaQuery<?> QUERY = proxy(CriteriaQuery.class, new QueryHandler());
+
+  private static final ClassValue<Map<String, Accessor>> ACCESSORS =
+      new ClassValue<>() {
+        @Override
+        protected Map<String, Accessor> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private InMemoryCriteria() {}
+
+  static <T> java.util.function.Predicate<T> compile(QuerySculptor<T> querySculptor, Class<T> entityClass) {
+    Root<T> root = new Node(entityClass, Function.identity()).proxy(Root.class);
+    Predicate predicate = querySculptor.carveCondition(root, QUERY, BUILDER);
+    if (predicate == null) {
+      return entity -> true;
+    }
+    Function<Object, Object> condition = operand(predicate);
+    return entity -> Boolean.TRUE.equals(condition.apply(entity));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> P proxy(Class<?> type, InvocationHandler handler) {
+    return (P) Proxy.newProxyInstance(
+        InMemoryCriteria.class.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+
+  private static Function<Object, Object> operand(Object value) {
+    if (value != null && Proxy.isProxyClass(value.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(value);
+      if (handler instanceof Node node) {
+        return node.eval;
+      }
+      if (handler instanceof InHandler in) {
+        return in.node.eval;
+      }
+    }
+    return entity -> value;
+  }
+
+  private static Object predicate(Function<Object, Object> eval) {
+    return new Node(Boolean.class, eval).proxy(Predicate.class);
+  }
+
+  private static UnsupportedOperationException unsupported(Method method) {
+    return new UnsupportedOperationException(
+        method.getDeclaringClass().getSimpleName()
+            + "."
+            + method.getName()
+            + " is not supported by in-memory evaluation");
+  }
+
+  /** An expression, path or predicate of the carved tree. */
+  private static final class Node implements InvocationHandler {
+
+    private final Class<?> javaType;
+
+    private final Function<Object, Object> eval;
+
+    private Node(Class<?> javaType, Function<Object, Object> eval) {
+      this.javaType = javaType;
+      this.eval = eval;
+    }
+
+    private <P> P proxy(Class<?> type) {
+      return InMemoryCriteria.proxy(type, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      return switch (method.getName()) {
+        case "toString" -> "in-memory " + javaType.getSimpleName() + " expression";
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        case "getJavaType" -> javaType;
+        case "alias", "as" -> proxy;
+        case "getAlias" -> null;
+        case "isCompoundSelection", "isNegated" -> false;
+        case "getOperator" -> Predicate.BooleanOperator.AND;
+        case "getExpressions" -> List.of();
+        case "get" -> navigate(args[0]);
+        case "isNull" -> predicate(isNull(eval));
+        case "isNotNull" -> predicate(not(isNull(eval)));
+        case "not" -> predicate(not(eval));
+        case "in" -> predicate(in(eval, inValues(args)));
+        default -> throw unsupported(method);
+      };
+    }
+
+    private Object navigate(Object attribute) {
+      String name = attribute instanceof Attribute<?, ?> a ? a.getName() : (String) attribute;
+      Accessor accessor = Accessor.of(javaType, name);
+      Function<Object, Object> parent = eval;
+      return new Node(
+              accessor.type,
+              entity -> {
+                Object owner = parent.apply(entity);
+                return owner == null ? null : accessor.get(owner);
+              })
+          .proxy(Path.class);
+    }
+
+    private static List<Function<Object, Object>> inValues(Object[] args) {
+      List<Function<Object, Object>> values = new ArrayList<>();
+      if (args[0] instanceof Object[] array) {
+        for (Object value : array) {
+          values.add(operand(value));
+        }
+      } else if (args[0] instanceof Collection<?> collection) {
+        for (Object value : collection) {
+          values.add(operand(value));
+        }
+      } else {
+        // Expression<Collection<?>>, expanded per row
+        Function<Object, Object> collection = operand(args[0]);
+        values.add(entity -> new ExpandedCollection((Collection<?>) collection.apply(entity)));
+      }
+      return values;
+    }
+  }
+
+  /** Marker for an IN list computed per row from a collection expression. */
+  private record ExpandedCollection(Collection<?> values) {}
+
+  /** The {@link CriteriaBuilder.In} returned by {@link CriteriaBuilder#in(Expression)}. */
+  private static final class InHandler implements InvocationHandler {
+
+    private final Node node;
+
+    private final List<Function<Object, Object>> values = new ArrayList<>();
+
+    private InHandler(Function<Object, Object> expression) {
+      this.node = new Node(Boolean.class, in(expression, values));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      if (method.getName().equals("value")) {
+        values.add(operand(args[0]));
+        return proxy;
+      }
+      return node.invoke(proxy, method, args);
+    }
+  }
+
+  private static final class QueryHandler implements InvocationHandler {
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      return switch (method.getName()) {
+        case "toString" -> "in-memory query";
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        // duplicates cannot occur when filtering a collection
+        case "distinct" -> proxy;
+        default -> throw unsupported(method);
+      };
+    }
+  }
+
+  private static final class BuilderHandler implements InvocationHandler {
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      return switch (method.getName()) {
+        case "toString" -> "in-memory criteria builder";
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        case "conjunction" -> predicate(entity -> Boolean.TRUE);
+        case "disjunction" -> predicate(entity -> Boolean.FALSE);
+        case "and" -> predicate(and(junctionOperands(args)));
+        case "or" -> predicate(or(junctionOperands(args)));
+        case "not" -> predicate(not(operand(args[0])));
+        case "isTrue" -> predicate(operand(args[0]));
+        case "isFalse" -> predicate(not(operand(args[0])));
+        case "isNull" -> predicate(isNull(operand(args[0])));
+        case "isNotNull" -> predicate(not(isNull(operand(args[0]))));
+        case "equal" -> predicate(test(args, InMemoryCriteria::isEqual));
+        case "notEqual" -> predicate(test(args, (left, right) -> !isEqual(left, right)));
+        case "greaterThan", "gt" -> predicate(test(args, (left, right) -> compare(left, right) > 0));
+        case "greaterThanOrEqualTo", "ge" -> predicate(test(args, (left, right) -> compare(left, right) >= 0));
+        case "lessThan", "lt" -> predicate(test(args, (left, right) -> compare(left, right) < 0));
+        case "lessThanOrEqualTo", "le" -> predicate(test(args, (left, right) -> compare(left, right) <= 0));
+        case "between" -> predicate(and(List.of(
+            test(new Object[] {args[0], args[1]}, (left, right) -> compare(left, right) >= 0),
+            test(new Object[] {args[0], args[2]}, (left, right) -> compare(left, right) <= 0))));
+        case "like" -> predicate(like(args));
+        case "notLike" -> predicate(not(like(args)));
+        case "in" -> proxy(CriteriaBuilder.In.class, new InHandler(operand(args[0])));
+        case "isEmpty" -> predicate(collection(args[0], Collection::isEmpty));
+        case "isNotEmpty" -> predicate(collection(args[0], values -> !values.isEmpty()));
+        case "isMember" -> predicate(member(args));
+        case "isNotMember" -> predicate(not(member(args)));
+        case "size" -> expression(Integer.class, collection(args[0], Collection::size));
+        case "lower" -> expression(String.class, string(args[0], text -> text.toLowerCase(Locale.ROOT)));
+        case "upper" -> expression(String.class, string(args[0], text -> text.toUpperCase(Locale.ROOT)));
+        case "length" -> expression(Integer.class, string(args[0], String::length));
+        case "trim" -> {
+          if (args.length != 1) {
+            throw unsupported(method);
+          }
+          yield expression(String.class, string(args[0], String::trim));
+        }
+        case "concat" -> {
+          if (args.length != 2) {
+            throw unsupported(method);
+          }
+          Function<Object, Object> lhs = operand(args[0]);
+          Function<Object, Object> rhs = operand(args[1]);
+          yield expression(String.class, entity -> {
+            Object left = lhs.apply(entity);
+            Object right = rhs.apply(entity);
+            return left == null || right == null ? null : left.toString() + right;
+          });
+        }
+        case "coalesce" -> {
+          if (args.length != 2) {
+            throw unsupported(method);
+          }
+          Function<Object, Object> lhs = operand(args[0]);
+          Function<Object, Object> rhs = operand(args[1]);
+          yield expression(Object.class, entity -> {
+            Object left = lhs.apply(entity);
+            return left != null ? left : rhs.apply(entity);
+          });
+        }
+        case "literal" -> expression(args[0].getClass(), operand(args[0]));
+        case "nullLiteral" -> expression((Class<?>) args[0], entity -> null);
+        default -> throw unsupported(method);
+      };
+    }
+
+    private static Object expression(Class<?> javaType, Function<Object, Object> eval) {
+      return new Node(javaType, eval).proxy(Expression.class);
+    }
+
+    private static List<Function<Object, Object>> junctionOperands(Object[] args) {
+      Object[] restrictions = args.length == 1 && args[0] instanceof Object[] array ? array : args;
+      return Arrays.stream(restrictions).map(InMemoryCriteria::operand).toList();
+    }
+
+    private static Function<Object, Object> test(Object[] args, BiPredicate<Object, Object> test) {
+      Function<Object, Object> lhs = operand(args[0]);
+      Function<Object, Object> rhs = operand(args[1]);
+      return entity -> {
+        Object left = lhs.apply(entity);
+        Object right = rhs.apply(entity);
+        if (left == null || right == null) {
+          return null;
+        }
+        return test.test(left, right);
+      };
+    }
+
+    private static Function<Object, Object> like(Object[] args) {
+      Function<Object, Object> value = operand(args[0]);
+      Function<Object, Object> pattern = operand(args[1]);
+      Function<Object, Object> escape = args.length > 2 ? operand(args[2]) : entity -> null;
+      if (!(args[1] instanceof String literal) || (args.length > 2 && !(args[2] instanceof Character))) {
+        return entity -> {
+          Object text = value.apply(entity);
+          Object likePattern = pattern.apply(entity);
+          if (text == null || likePattern == null) {
+            return null;
+          }
+          return likeToRegex((String) likePattern, (Character) escape.apply(entity))
+              .matcher(text.toString())
+              .matches();
+        };
+      }
+      Pattern compiled = likeToRegex(literal, args.length > 2 ? (Character) args[2] : null);
+      return entity -> {
+        Object text = value.apply(entity);
+        return text == null ? null : compiled.matcher(text.toString()).matches();
+      };
+    }
+
+    private static Function<Object, Object> collection(Object arg, Function<Collection<?>, Object> function) {
+      Function<Object, Object> collection = operand(arg);
+      return entity -> {
+        Object values = collection.apply(entity);
+        return values == null ? null : function.apply((Collection<?>) values);
+      };
+    }
+
+    private static Function<Object, Object> member(Object[] args) {
+      Function<Object, Object> element = operand(args[0]);
+      Function<Object, Object> collection = operand(args[1]);
+      return entity -> {
+        Object values = collection.apply(entity);
+        return values == null ? null : ((Collection<?>) values).contains(element.apply(entity));
+      };
+    }
+
+    private static Function<Object, Object> string(Object arg, Function<String, Object> function) {
+      Function<Object, Object> value = operand(arg);
+      return entity -> {
+        Object text = value.apply(entity);
+        return text == null ? null : function.apply(text.toString());
+      };
+    }
+  }
+
+  private static Function<Object, Object> isNull(Function<Object, Object> operand) {
+    return entity -> operand.apply(entity) == null;
+  }
+
+  private static Function<Object, Object> not(Function<Object, Object> operand) {
+    return entity -> {
+      Object value = operand.apply(entity);
+      return value == null ? null : !((Boolean) value);
+    };
+  }
+
+  private static Function<Object, Object> and(List<Function<Object, Object>> operands) {
+    return entity -> {
+      boolean unknown = false;
+      for (Function<Object, Object> operand : operands) {
+        Object value = operand.apply(entity);
+        if (value == null) {
+          unknown = true;
+        } else if (!((Boolean) value)) {
+          return Boolean.FALSE;
+        }
+      }
+      return unknown ? null : Boolean.TRUE;
+    };
+  }
+
+  private static Function<Object, Object> or(List<Function<Object, Object>> operands) {
+    return entity -> {
+      boolean unknown = false;
+      for (Function<Object, Object> operand : operands) {
+        Object value = operand.apply(entity);
+        if (value == null) {
+          unknown = true;
+        } else if ((Boolean) value) {
+          return Boolean.TRUE;
+        }
+      }
+      return unknown ? null : Boolean.FALSE;
+    };
+  }
+
+  private static Function<Object, Object> in(
+      Function<Object, Object> expression, List<Function<Object, Object>> values) {
+    return entity -> {
+      Object value = expression.apply(entity);
+      if (value == null) {
+        return null;
+      }
+      boolean unknown = false;
+      for (Function<Object, Object> candidate : values) {
+        Object candidateValue = candidate.apply(entity);
+        Collection<?> expanded =
+            candidateValue instanceof ExpandedCollection collection
+                ? collection.values()
+                : Collections.singletonList(candidateValue);
+        if (expanded == null) {
+          continue;
+        }
+        for (Object element : expanded) {
+          if (element == null) {
+            unknown = true;
+          } else if (isEqual(value, element)) {
+            return Boolean.TRUE;
+          }
+        }
+      }
+      return unknown ? null : Boolean.FALSE;
+    };
+  }
+
+  private static boolean isEqual(Object left, Object right) {
+    Integer order = order(left, right);
+    return order != null ? order == 0 : left.equals(right);
+  }
+
+  private static int compare(Object left, Object right) {
+    Integer order = order(left, right);
+    if (order == null) {
+      throw new IllegalArgumentException(
+          "Unable to compare "
+              + left.getClass().getName()
+              + " with "
+              + right.getClass().getName()
+              + " in memory");
+    }
+    return order;
+  }
+
+  /**
+   * Orders two non-null operands the way the database would, or returns {@code null} when they
+   * have no common ordering. Subclasses such as the {@link java.sql.Timestamp} Hibernate loads for a
+   * {@link java.util.Date} attribute compare through their comparable superclass, enum constants
+   * with bodies through their declaring enum.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Integer order(Object left, Object right) {
+    if (left instanceof Number l && right instanceof Number r && left.getClass() != right.getClass()) {
+      return new BigDecimal(l.toString()).compareTo(new BigDecimal(r.toString()));
+    }
+    if (left instanceof Enum<?> l && right instanceof Enum<?> r) {
+      return l.getDeclaringClass() == r.getDeclaringClass() ? Integer.compare(l.ordinal(), r.ordinal()) : null;
+    }
+    if (left instanceof Comparable comparable && left.getClass().isInstance(right)) {
+      return comparable.compareTo(right);
+    }
+    if (right instanceof Comparable comparable && right.getClass().isInstance(left)) {
+      return -Integer.signum(comparable.compareTo(left));
+    }
+    return null;
+  }
+
+  private static Pattern likeToRegex(String pattern, Character escape) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (escape != null && c == escape && i + 1 < pattern.length()) {
+        regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+      } else if (c == '%') {
+        regex.append(".*");
+      } else if (c == '_') {
+        regex.append('.');
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  /** A precompiled property read, preferring the getter over direct field access. */
+  private static final class Accessor {
+
+    private final Class<?> type;
+
+    private final MethodHandle handle;
+
+    private Accessor(Class<?> type, MethodHandle handle) {
+      this.type = type;
+      this.handle = handle.asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    static Accessor of(Class<?> owner, String name) {
+      return ACCESSORS.get(owner).computeIfAbsent(name, attribute -> resolve(owner, attribute));
+    }
+
+    Object get(Object target) {
+      try {
+        return (Object) handle.invokeExact(target);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException("Unable to read attribute of " + target.getClass(), e);
+      }
+    }
+
+    private static Accessor resolve(Class<?> owner, String name) {
+      String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+      try {
+        for (Class<?> type = owner; type != null && type != Object.class; type = type.getSuperclass()) {
+          MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+          for (String getter : List.of("get" + capitalized, "is" + capitalized)) {
+            Method method = findGetter(type, getter);
+            if (method != null) {
+              return new Accessor(method.getReturnType(), lookup.unreflect(method));
+            }
+          }
+          Field field = findField(type, name);
+          if (field != null) {
+            return new Accessor(field.getType(), lookup.unreflectGetter(field));
+          }
+        }
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Unable to access attribute " + name + " of " + owner, e);
+      }
+      throw new IllegalArgumentException("Unable to locate attribute " + name + " on " + owner);
+    }
+
+    private static Method findGetter(Class<?> type, String name) {
+      for (Method method : type.getDeclaredMethods()) {
+        if (method.getName().equals(name)
+            && method.getParameterCount() == 0
+            && !Modifier.isStatic(method.getModifiers())
+            && method.getReturnType() != void.class) {
+          return method;
+        }
+      }
+      return null;
+    }
+
+    private static Field findField(Class<?> type, String name) {
+      for (Field field : type.getDeclaredFields()) {
+        if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+          return field;
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package io.github.querysculptor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates a {@link QuerySculptor} against entities already loaded in memory, so the same
+ * business rule can filter both in SQL and in the heap.
+ *
+ * <p>The sculptor is carved once into a reusable {@link Predicate}. Only the common subset of the
+ * criteria API is available: comparisons, {@code like}, {@code in}, null checks, boolean
+ * combinators, {@code lower}/{@code upper}/{@code trim}/{@code length}/{@code concat}/{@code
+ * coalesce} and attribute navigation through {@code get}. Joins, subqueries and functions raise an
+ * {@link UnsupportedOperationException} while carving.
+ *
+ * <pre>{@code
+ * Predicate<User> active = InMemoryEvaluator.compile(UserQuerySculptor.hasStatus("ACTIVE"), User.class);
+ * }</pre>
+ */
+public final class InMemoryEvaluator {
+
+  private InMemoryEvaluator() {}
+
+  public static <T> Predicate<T> compile(QuerySculptor<T> querySculptor, Class<T> entityClass) {
+    Assert.notNull(querySculptor, "querySculptor must be not null");
+    Assert.notNull(entityClass, "entityClass must be not null");
+    return InMemoryCriteria.compile(querySculptor, entityClass);
+  }
+
+  public static <T> List<T> filter(
+      QuerySculptor<T> querySculptor, Class<T> entityClass, Collection<? extends T> entities) {
+    Assert.notNull(entities, "entities must be not null");
+    Predicate<T> predicate = compile(querySculptor, entityClass);
+    return entities.stream().filter(predicate).map(entity -> (T) entity).toList();
+  }
+}
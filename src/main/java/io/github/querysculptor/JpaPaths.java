@@ -0,0 +1,23 @@
+package io.github.querysculptor;
+
+import jakarta.persistence.criteria.Path;
+
+/** Navigation helpers over criteria paths. */
+final class JpaPaths {
+
+  private JpaPaths() {}
+
+  /**
+   * Resolves a dotted attribute path such as {@code "customer.address.city"} against the given
+   * path.
+   */
+  @SuppressWarnings("unchecked")
+  static <Y> Path<Y> resolve(Path<?> from, String attributePath) {
+    Assert.notNull(attributePath, "attributePath must be not null");
+    Path<?> path = from;
+    for (String attribute : attributePath.split("\\.")) {
+      path = path.get(attribute);
+    }
+    return (Path<Y>) path;
+  }
+}
@@ -0,0 +1,45 @@
+package io.github.querysculptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inclusive {@code [lower, upper]} slice of an integral partition key, see {@link
+ * QuerySculptorExecutor#scanPartitioned}.
+ */
+record PartitionRange(long lower, long upper) {
+
+  /**
+   * Splits {@code [min, max]} into at most {@code partitions} contiguous slices of equal width, the
+   * last one possibly narrower. The width is computed as an unsigned value so any range, up to the
+   * full {@code long} domain, is covered without overflow.
+   */
+  static List<PartitionRange> split(long min, long max, int partitions) {
+    if (partitions <= 0) {
+      throw new IllegalArgumentException("partitions must be greater than zero");
+    }
+    if (min > max) {
+      throw new IllegalArgumentException("min must be less than or equal to max");
+    }
+
+    // number of values minus one, unsigned: the full long range does not fit a signed long
+    long last = max - min;
+    long slices = Long.compareUnsigned(last, partitions) < 0 ? last + 1 : partitions;
+    if (slices == 1) {
+      return List.of(new PartitionRange(min, max));
+    }
+    // ceil((last + 1) / slices), at most 2^63 which is only meaningful as an unsigned value
+    long step = Long.divideUnsigned(last, slices) + 1;
+
+    List<PartitionRange> ranges = new ArrayList<>();
+    long lower = min;
+    long remaining = last;
+    while (ranges.size() < slices - 1 && Long.compareUnsigned(step, remaining) <= 0) {
+      ranges.add(new PartitionRange(lower, lower + step - 1));
+      lower += step;
+      remaining -= step;
+    }
+    ranges.add(new PartitionRange(lower, max));
+    return ranges;
+  }
+}
@@ -0,0 +1,19 @@
+package io.github.querysculptor;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+class QueryAggregationMetadata<T> extends AbstractQueryMetadata<T> {
+
+  private final CriteriaQuery<Tuple> criteriaQuery;
+
+  public QueryAggregationMetadata(Root<T> root, CriteriaQuery<Tuple> criteriaQuery) {
+    super(root);
+    this.criteriaQuery = criteriaQuery;
+  }
+
+  public CriteriaQuery<Tuple> getQuery() {
+    return criteriaQuery;
+  }
+}
@@ -0,0 +1,135 @@
+package io.github.querysculptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects several independent sculptor queries and executes them together on a single session
+ * and connection.
+ *
+ * <p>Compatible {@code count}/{@code exists} queries are folded into one select, so a screen
+ * issuing several of them pays a single round trip. {@code list} queries are not combined: each
+ * runs as its own statement, saving only the session and connection checkout of a separate call.
+ *
+ * <pre>{@code
+ * QueryBatch<User> batch = userRepository.batch();
+ * QueryBatch.Result<Long> active = batch.count(UserQuerySculptor.hasStatus("ACTIVE"));
+ * QueryBatch.Result<Boolean> locked = batch.exists(UserQuerySculptor.hasStatus("LOCKED"));
+ * batch.execute(QueryOptions.defaults().timeout(Duration.ofSeconds(2)));
+ * }</pre>
+ *
+ * @param <ENTITY> The entity type the queries are built for.
+ */
+public class QueryBatch<ENTITY> {
+
+  enum Kind {
+    LIST,
+
+    COUNT,
+
+    EXISTS;
+  }
+
+  /** A placeholder for the result of one query, available once the batch has been executed. */
+  public static class Result<R> {
+    private R value;
+    private boolean completed;
+
+    public R get() {
+      if (!completed) {
+        throw new IllegalStateException("batch has not been executed");
+      }
+      return value;
+    }
+
+    public boolean isCompleted() {
+      return completed;
+    }
+
+    void complete(R value) {
+      this.value = value;
+      this.completed = true;
+    }
+  }
+
+  static class Entry<ENTITY> {
+    private final Kind kind;
+    private final QuerySculptor<ENTITY> querySculptor;
+    private final Result<Object> result = new Result<>();
+
+    Entry(Kind kind, QuerySculptor<ENTITY> querySculptor) {
+      this.kind = kind;
+      this.querySculptor = querySculptor;
+    }
+
+    Kind getKind() {
+      return kind;
+    }
+
+    QuerySculptor<ENTITY> getQuerySculptor() {
+      return querySculptor;
+    }
+
+    void complete(Object value) {
+      result.complete(value);
+    }
+  }
+
+  private final List<Entry<ENTITY>> entries = new ArrayList<>();
+
+  private final BiConsumer<QueryBatch<ENTITY>, QueryOptions> runner;
+
+  private boolean executed;
+
+  QueryBatch(BiConsumer<QueryBatch<ENTITY>, QueryOptions> runner) {
+    this.runner = runner;
+  }
+
+  public Result<List<ENTITY>> list(QuerySculptor<ENTITY> querySculptor) {
+    return add(Kind.LIST, querySculptor);
+  }
+
+  public Result<Long> count(QuerySculptor<ENTITY> querySculptor) {
+    return add(Kind.COUNT, querySculptor);
+  }
+
+  public Result<Boolean> exists(QuerySculptor<ENTITY> querySculptor) {
+    return add(Kind.EXISTS, querySculptor);
+  }
+
+  /** Executes every collected query and completes their results. A batch executes only once. */
+  public void execute() {
+    execute(QueryOptions.defaults());
+  }
+
+  /**
+   * Executes every collected query with the given hints, which apply to each statement of the
+   * batch. A batch executes only once.
+   */
+  public void execute(QueryOptions options) {
+    Assert.notNull(options, "options must be not null");
+    if (executed) {
+      throw new IllegalStateException("batch has already been executed");
+    }
+    executed = true;
+    if (!entries.isEmpty()) {
+      runner.accept(this, options);
+    }
+  }
+
+  List<Entry<ENTITY>> getEntries() {
+    return entries;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> Result<R> add(Kind kind, QuerySculptor<ENTITY> querySculptor) {
+    Assert.notNull(querySculptor, "querySculptor must be not null");
+    if (executed) {
+      throw new IllegalStateException("batch has already been executed");
+    }
+    Entry<ENTITY> entry = new Entry<>(kind, querySculptor);
+    entries.add(entry);
+    return (Result<R>) (Result<?>) entry.result;
+  }
+}
@@ -0,0 +1,262 @@
+package io.github.querysculptor;
+
+import jakarta.persistence.QueryTimeoutException;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.LockMode;
+import org.hibernate.query.CommonQueryContract;
+import org.hibernate.query.SelectionQuery;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Per-call execution hints for {@link QuerySculptorExecutor} operations. Instances are immutable,
+ * every modifier returns a new copy.
+ *
+ * <p>When both a {@link #timeout(Duration) timeout} and a {@link #deadline(Instant) deadline} are
+ * given, the shorter one wins. The JDBC driver cancels the statement once it expires, which
+ * surfaces as a {@link QueryTimeoutException}.
+ */
+public class QueryOptions {
+
+  /** What happens when an unpaged query returns more rows than allowed by {@link QueryOptions#maxRows}. */
+  public enum Overflow {
+    /** Throws an {@link IllegalStateException}. */
+    FAIL,
+
+    /** Returns the first {@code maxRows} rows. */
+    TRUNCATE;
+  }
+
+  private static final QueryOptions DEFAULTS =
+      new QueryOptions(null, null, null, null, null, null, null, null, null);
+
+  private final Duration timeout;
+
+  private final Instant deadline;
+
+  private final Integer fetchSize;
+
+  private final LockMode lockMode;
+
+  private final FlushMode flushMode;
+
+  private final CacheMode cacheMode;
+
+  private final String comment;
+
+  private final Integer maxRows;
+
+  private final Overflow overflow;
+
+  private QueryOptions(
+      Duration timeout,
+      Instant deadline,
+      Integer fetchSize,
+      LockMode lockMode,
+      FlushMode flushMode,
+      CacheMode cacheMode,
+      String comment,
+      Integer maxRows,
+      Overflow overflow) {
+    this.timeout = timeout;
+    this.deadline = deadline;
+    this.fetchSize = fetchSize;
+    this.lockMode = lockMode;
+    this.flushMode = flushMode;
+    this.cacheMode = cacheMode;
+    this.comment = comment;
+    this.maxRows = maxRows;
+    this.overflow = overflow;
+  }
+
+  public static QueryOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * @param timeout The JDBC query timeout, rounded up to whole seconds. Must be positive.
+   * @return A copy of these options with the given timeout.
+   */
+  public QueryOptions timeout(Duration timeout) {
+    Assert.notNull(timeout, "timeout must be not null");
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("timeout must be greater than zero");
+    }
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  /**
+   * @param deadline The instant after which the caller no longer needs the result.
+   * @return A copy of these options with the given deadline.
+   */
+  public QueryOptions deadline(Instant deadline) {
+    Assert.notNull(deadline, "deadline must be not null");
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  /**
+   * @param fetchSize The number of rows the driver fetches per round trip, {@code 0} for the driver
+   *     default.
+   * @return A copy of these options with the given fetch size.
+   */
+  public QueryOptions fetchSize(int fetchSize) {
+    if (fetchSize < 0) {
+      throw new IllegalArgumentException("fetchSize must be not negative");
+    }
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  public QueryOptions lockMode(LockMode lockMode) {
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  /**
+   * Shortcut for {@code lockMode(LockMode.UPGRADE_SKIPLOCKED)}: a pessimistic write lock which
+   * skips rows already locked by another transaction.
+   */
+  public QueryOptions skipLocked() {
+    return lockMode(LockMode.UPGRADE_SKIPLOCKED);
+  }
+
+  public QueryOptions flushMode(FlushMode flushMode) {
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  public QueryOptions cacheMode(CacheMode cacheMode) {
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  /**
+   * @param comment A tag rendered as SQL comment, only visible when {@code
+   *     hibernate.use_sql_comments} is enabled.
+   * @return A copy of these options with the given comment.
+   */
+  public QueryOptions comment(String comment) {
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  /**
+   * Caps the number of rows an unpaged query may return, overriding {@code query-sculptor.max-rows}
+   * for this call. Queries handed to a {@code findAll} callback are only checked when {@code
+   * query-sculptor.max-rows.probe-callbacks} is enabled.
+   *
+   * @param maxRows The maximum row count, or {@code -1} to disable the limit.
+   * @param overflow What to do when the limit is exceeded.
+   * @return A copy of these options with the given row limit.
+   */
+  public QueryOptions maxRows(int maxRows, Overflow overflow) {
+    Assert.notNull(overflow, "overflow must be not null");
+    if (maxRows < -1) {
+      throw new IllegalArgumentException("maxRows must be -1 or greater");
+    }
+    return new QueryOptions(timeout, deadline, fetchSize, lockMode, flushMode, cacheMode, comment, maxRows, overflow);
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public Instant getDeadline() {
+    return deadline;
+  }
+
+  public Integer getFetchSize() {
+    return fetchSize;
+  }
+
+  public LockMode getLockMode() {
+    return lockMode;
+  }
+
+  public FlushMode getFlushMode() {
+    return flushMode;
+  }
+
+  public CacheMode getCacheMode() {
+    return cacheMode;
+  }
+
+  public String getComment() {
+    return comment;
+  }
+
+  public Integer getMaxRows() {
+    return maxRows;
+  }
+
+  public Overflow getOverflow() {
+    return overflow;
+  }
+
+  boolean requiresTransaction() {
+    return lockMode != null && lockMode.greaterThan(LockMode.READ);
+  }
+
+  <Q extends SelectionQuery<?>> Q applyToSelection(Q query) {
+    applyToCommon(query);
+    if (fetchSize != null) {
+      query.setFetchSize(fetchSize);
+    }
+    if (lockMode != null) {
+      query.setHibernateLockMode(lockMode);
+    }
+    if (cacheMode != null) {
+      query.setCacheMode(cacheMode);
+    }
+    return query;
+  }
+
+  /**
+   * Applies the hints to an aggregate or to a side query run on behalf of the caller, leaving out
+   * lock modes: databases such as PostgreSQL reject {@code FOR UPDATE} on aggregates.
+   */
+  <Q extends SelectionQuery<?>> Q applyToProbe(Q query) {
+    applyToCommon(query);
+    if (cacheMode != null) {
+      query.setCacheMode(cacheMode);
+    }
+    return query;
+  }
+
+  <Q extends CommonQueryContract> Q applyToMutation(Q query) {
+    applyToCommon(query);
+    return query;
+  }
+
+  private void applyToCommon(CommonQueryContract query) {
+    Integer timeoutSeconds = effectiveTimeoutSeconds();
+    if (timeoutSeconds != null) {
+      query.setTimeout(timeoutSeconds);
+    }
+    if (flushMode != null) {
+      query.setHibernateFlushMode(flushMode);
+    }
+    if (comment != null) {
+      query.setComment(comment);
+    }
+  }
+
+  /**
+   * @return The timeout in whole seconds left for the next statement, or {@code null} when neither
+   *     a timeout nor a deadline is set.
+   */
+  Integer effectiveTimeoutSeconds() {
+    Duration effective = timeout;
+    if (deadline != null) {
+      Duration remaining = Duration.between(Instant.now(), deadline);
+      if (remaining.isNegative() || remaining.isZero()) {
+        throw new QueryTimeoutException("deadline expired before query execution");
+      }
+      if (effective == null || remaining.compareTo(effective) < 0) {
+        effective = remaining;
+      }
+    }
+    if (effective == null) {
+      return null;
+    }
+    long millis = Math.max(effective.toMillis(), 1);
+    return (int) Math.min((millis + 999) / 1000, Integer.MAX_VALUE);
+  }
+}
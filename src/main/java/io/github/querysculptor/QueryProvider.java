@@ -1,5 +1,6 @@
 package io.github.querysculptor;
 
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.*;
 
 /**
@@ -25,6 +26,10 @@ class QueryProvider<ENTITY> {
     return new UpdateQueryMetaDataBuilder<ENTITY>().buildQuery(delegate);
   }
 
+  public QueryMetadata<ENTITY> aggregateQuery() {
+    return new AggregateQueryMetadataBuilder<ENTITY>().buildQuery(delegate);
+  }
+
   private static class DeleteQueryMetaDataBuilder<ENTITY>
       implements QueryMetadataBuilder<ENTITY> {
     @Override
@@ -59,4 +64,15 @@ class QueryProvider<ENTITY> {
       return new QuerySelectionMetadata<>(root, query);
     }
   }
+
+  private static class AggregateQueryMetadataBuilder<ENTITY>
+      implements QueryMetadataBuilder<ENTITY> {
+    @Override
+    public QueryMetadata<ENTITY> buildQuery(QuerySculptorExecutor<ENTITY> executor) {
+      CriteriaBuilder cb = executor.getCriteriaBuilder();
+      CriteriaQuery<Tuple> query = cb.createTupleQuery();
+      Root<ENTITY> root = query.from(executor.entityClass());
+      return new QueryAggregationMetadata<>(root, query);
+    }
+  }
 }
@@ -1,12 +1,16 @@
 package io.github.querysculptor;
 
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.CriteriaUpdate;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -16,10 +20,18 @@ public interface QuerySculptorExecutor<ENTITY> {
         throw new UnsupportedOperationException("Unsupported list method");
     }
 
+    default List<ENTITY> list(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported list method");
+    }
+
     default <R> R findAll(QuerySculptor<ENTITY> querySculptor, PageRequest pageRequest, Function<Query<ENTITY>, R> callback) {
         throw new UnsupportedOperationException("Unsupported findAll method");
     }
 
+    default <R> R findAll(QuerySculptor<ENTITY> querySculptor, PageRequest pageRequest, QueryOptions options, Function<Query<ENTITY>, R> callback) {
+        throw new UnsupportedOperationException("Unsupported findAll method");
+    }
+
     default <R> R findAll(QuerySculptor<ENTITY> querySculptor, Function<Query<ENTITY>, R> callback) {
         throw new UnsupportedOperationException("Unsupported findAll method");
     }
@@ -28,18 +40,131 @@ public interface QuerySculptorExecutor<ENTITY> {
         throw new UnsupportedOperationException("Unsupported findOne method");
     }
 
+    default ENTITY findOne(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported findOne method");
+    }
+
     default int delete(QuerySculptor<ENTITY> querySculptorQuery) {
         throw new UnsupportedOperationException("Unsupported delete method");
     }
 
+    default int delete(QuerySculptor<ENTITY> querySculptorQuery, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported delete method");
+    }
+
     default int update(QuerySculptor<ENTITY> querySculptorQuery, Consumer<CriteriaUpdate<ENTITY>> callback) {
         throw new UnsupportedOperationException("Unsupported update method");
     }
 
+    default int update(QuerySculptor<ENTITY> querySculptorQuery, QueryOptions options, Consumer<CriteriaUpdate<ENTITY>> callback) {
+        throw new UnsupportedOperationException("Unsupported update method");
+    }
+
     default boolean exists(QuerySculptor<ENTITY> querySculptor) {
         throw new UnsupportedOperationException("Unsupported exists method");
     }
 
+    default boolean exists(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported exists method");
+    }
+
+    default long count(QuerySculptor<ENTITY> querySculptor) {
+        throw new UnsupportedOperationException("Unsupported count method");
+    }
+
+    default long count(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported count method");
+    }
+
+    default QueryBatch<ENTITY> batch() {
+        throw new UnsupportedOperationException("Unsupported batch method");
+    }
+
+    default int claim(QuerySculptor<ENTITY> querySculptor, int batchSize, Consumer<List<ENTITY>> callback) {
+        throw new UnsupportedOperationException("Unsupported claim method");
+    }
+
+    default int claim(QuerySculptor<ENTITY> querySculptor, int batchSize, QueryOptions options, Consumer<List<ENTITY>> callback) {
+        throw new UnsupportedOperationException("Unsupported claim method");
+    }
+
+    default long scanPartitioned(QuerySculptor<ENTITY> querySculptor, String partitionKey, int partitions, Consumer<? super ENTITY> consumer) {
+        throw new UnsupportedOperationException("Unsupported scanPartitioned method");
+    }
+
+    /**
+     * Streams every entity matching the sculptor to the consumer, splitting the range of the
+     * integral {@code partitionKey} into {@code partitions} slices read concurrently.
+     *
+     * <p>Each slice in flight holds its own connection, so {@code partitions} only sets how the work
+     * is split: the number of slices read at the same time is capped by {@code
+     * query-sculptor.scan.max-concurrency} (4 by default), which must stay below the datasource pool
+     * size, otherwise slices fail to acquire a connection. Lock modes are rejected.
+     */
+    default long scanPartitioned(QuerySculptor<ENTITY> querySculptor, String partitionKey, int partitions, QueryOptions options, Consumer<? super ENTITY> consumer) {
+        throw new UnsupportedOperationException("Unsupported scanPartitioned method");
+    }
+
+    default List<Tuple> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation) {
+        throw new UnsupportedOperationException("Unsupported aggregate method");
+    }
+
+    default <R> List<R> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, Function<Tuple, R> mapper) {
+        throw new UnsupportedOperationException("Unsupported aggregate method");
+    }
+
+    default List<Tuple> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported aggregate method");
+    }
+
+    default <R> List<R> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, QueryOptions options, Function<Tuple, R> mapper) {
+        throw new UnsupportedOperationException("Unsupported aggregate method");
+    }
+
+    default int insertAll(Collection<? extends ENTITY> entities) {
+        throw new UnsupportedOperationException("Unsupported insertAll method");
+    }
+
+    default int insertAll(Collection<? extends ENTITY> entities, int batchSize) {
+        throw new UnsupportedOperationException("Unsupported insertAll method");
+    }
+
+    default int insertAll(Collection<? extends ENTITY> entities, int batchSize, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported insertAll method");
+    }
+
+    default int upsertAll(Collection<? extends ENTITY> entities) {
+        throw new UnsupportedOperationException("Unsupported upsertAll method");
+    }
+
+    default int upsertAll(Collection<? extends ENTITY> entities, int batchSize) {
+        throw new UnsupportedOperationException("Unsupported upsertAll method");
+    }
+
+    default int upsertAll(Collection<? extends ENTITY> entities, int batchSize, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported upsertAll method");
+    }
+
+    default void compile(QueryTemplate<ENTITY> template) {
+        throw new UnsupportedOperationException("Unsupported compile method");
+    }
+
+    default List<ENTITY> execute(QueryTemplate<ENTITY> template, Map<String, ?> parameters) {
+        throw new UnsupportedOperationException("Unsupported execute method");
+    }
+
+    default List<ENTITY> execute(QueryTemplate<ENTITY> template, Map<String, ?> parameters, QueryOptions options) {
+        throw new UnsupportedOperationException("Unsupported execute method");
+    }
+
+    default Collection<QueryTemplate<ENTITY>> warmUpTemplates() {
+        return List.of();
+    }
+
+    default Duration warmUp() {
+        throw new UnsupportedOperationException("Unsupported warmUp method");
+    }
+
     default SessionFactory getSessionFactory() {
         throw new UnsupportedOperationException("Unsupported getSessionFactory method");
     }
@@ -0,0 +1,25 @@
+package io.github.querysculptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide counters of the executor layer, meant to be bound to the application's metrics
+ * registry, e.g. as a Micrometer function counter.
+ */
+public final class QuerySculptorMetrics {
+
+  private static final AtomicLong ROW_LIMIT_OVERFLOWS = new AtomicLong();
+
+  private QuerySculptorMetrics() {}
+
+  /**
+   * @return The number of unpaged queries which exceeded the configured row limit.
+   */
+  public static long rowLimitOverflows() {
+    return ROW_LIMIT_OVERFLOWS.get();
+  }
+
+  static void rowLimitOverflow() {
+    ROW_LIMIT_OVERFLOWS.incrementAndGet();
+  }
+}
@@ -0,0 +1,95 @@
+package io.github.querysculptor;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Warms up every {@link QuerySculptorExecutor} repository at startup, see {@link
+ * QuerySculptorExecutor#warmUp()}, and records how long each repository took to compile its
+ * registered templates.
+ *
+ * <p>Warm-up is enabled by default and can be switched off globally with {@code
+ * query-sculptor.warm-up.enabled=false}, or per repository with {@code
+ * query-sculptor.warm-up."com.acme.UserRepository".enabled=false}.
+ */
+@ApplicationScoped
+public class QuerySculptorWarmUp {
+
+  private static final Logger LOG = Logger.getLogger(QuerySculptorWarmUp.class);
+
+  private static final String ENABLED = "query-sculptor.warm-up.enabled";
+
+  private final Map<String, Duration> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+  @Inject @Any Instance<QuerySculptorExecutor<?>> executors;
+
+  @Inject Config config;
+
+  @ActivateRequestContext
+  void onStart(@Observes StartupEvent event) {
+    if (!isEnabled(ENABLED)) {
+      return;
+    }
+    for (Instance.Handle<QuerySculptorExecutor<?>> handle : executors.handles()) {
+      String repository = handle.getBean().getBeanClass().getName();
+      if (!isEnabled("query-sculptor.warm-up.\"" + repository + "\".enabled")) {
+        continue;
+      }
+      try {
+        warmUp(repository, handle);
+      } catch (RuntimeException e) {
+        LOG.warnf(e, "Unable to warm up %s", repository);
+      }
+    }
+  }
+
+  private void warmUp(String repository, Instance.Handle<QuerySculptorExecutor<?>> handle) {
+    QuerySculptorExecutor<?> executor = handle.get();
+    try {
+      Duration elapsed = executor.warmUp();
+      timings.put(repository, elapsed);
+      int planned = 0;
+      int templates = 0;
+      for (QueryTemplate<?> template : executor.warmUpTemplates()) {
+        templates++;
+        if (template.getCompiled() != null && template.getCompiled().getHql() != null) {
+          planned++;
+        }
+      }
+      LOG.infof(
+          "Warmed up %s in %d ms: %d of %d templates planned",
+          repository, elapsed.toMillis(), planned, templates);
+    } finally {
+      // destroying a normal scoped instance would run its @PreDestroy and recreate it on first use
+      if (handle.getBean().getScope() == Dependent.class) {
+        handle.destroy();
+      }
+    }
+  }
+
+  /**
+   * @return The warm-up duration of each repository, keyed by repository class name.
+   */
+  public Map<String, Duration> getTimings() {
+    synchronized (timings) {
+      return Map.copyOf(timings);
+    }
+  }
+
+  private boolean isEnabled(String property) {
+    return config.getOptionalValue(property, Boolean.class).orElse(true);
+  }
+}
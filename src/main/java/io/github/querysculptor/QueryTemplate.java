@@ -0,0 +1,108 @@
+package io.github.querysculptor;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A parameterized query sculptor compiled once and bound per call. Values are declared as named
+ * {@link ParameterExpression} placeholders instead of being captured by the lambda, so every
+ * execution reuses the same compiled query and renders the same SQL string.
+ *
+ * <pre>{@code
+ * static final QueryTemplate<User> BY_STATUS = QueryTemplate.of((root, query, cb, params) ->
+ *     cb.equal(root.get("status"), params.get("status", String.class)));
+ *
+ * userRepository.execute(BY_STATUS, Map.of("status", "ACTIVE"));
+ * }</pre>
+ *
+ * @param <T> The entity type the query is built for.
+ */
+public class QueryTemplate<T> {
+
+  /** Declares the placeholders of a template. */
+  public interface Parameters {
+
+    /**
+     * Returns the placeholder with the given name, creating it on first use.
+     *
+     * @param name The name the value is bound by at execution.
+     * @param type The java type of the value.
+     * @return The parameter expression to use in the condition.
+     */
+    <P> ParameterExpression<P> get(String name, Class<P> type);
+  }
+
+  /** The template counterpart of {@link QuerySculptor#carveCondition}. */
+  @FunctionalInterface
+  public interface Definition<T> {
+    Predicate carveCondition(
+        Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb, Parameters parameters);
+  }
+
+  static class Compiled<T> {
+    private final CriteriaQuery<T> criteriaQuery;
+    private final String hql;
+    private final Set<String> parameterNames;
+
+    Compiled(CriteriaQuery<T> criteriaQuery, String hql, Set<String> parameterNames) {
+      this.criteriaQuery = criteriaQuery;
+      this.hql = hql;
+      this.parameterNames = parameterNames;
+    }
+
+    CriteriaQuery<T> getCriteriaQuery() {
+      return criteriaQuery;
+    }
+
+    /**
+     * @return The rendered HQL, or {@code null} when the query holds values outside of the
+     *     declared placeholders and has to be executed from its criteria tree.
+     */
+    String getHql() {
+      return hql;
+    }
+
+    Set<String> getParameterNames() {
+      return parameterNames;
+    }
+
+    void validate(Map<String, ?> parameters) {
+      for (String name : parameterNames) {
+        if (!parameters.containsKey(name)) {
+          throw new IllegalArgumentException("missing value for template parameter " + name);
+        }
+      }
+    }
+  }
+
+  private final Definition<T> definition;
+
+  private volatile Compiled<T> compiled;
+
+  private QueryTemplate(Definition<T> definition) {
+    this.definition = definition;
+  }
+
+  public static <T> QueryTemplate<T> of(Definition<T> definition) {
+    Assert.notNull(definition, "definition must be not null");
+    return new QueryTemplate<>(definition);
+  }
+
+  Definition<T> getDefinition() {
+    return definition;
+  }
+
+  Compiled<T> getCompiled() {
+    return compiled;
+  }
+
+  void setCompiled(Compiled<T> compiled) {
+    this.compiled = compiled;
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.querysculptor;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.query.SelectionQuery;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Caps the rows returned by unpaged queries. The limit comes from {@code query-sculptor.max-rows}
+ * (disabled by default) and {@code query-sculptor.max-rows.overflow} ({@code FAIL} by default), and
+ * can be overridden per call through {@link QueryOptions#maxRows}.
+ *
+ * <p>Queries whose result is materialized here are capped at {@code maxRows + 1} so an overflow is
+ * detected without loading the whole result, at no extra cost. Queries handed to a caller's
+ * callback are only guarded when {@code query-sculptor.max-rows.probe-callbacks} is enabled: they
+ * are then probed beforehand with {@code OFFSET maxRows LIMIT 1}, which runs the filter a second
+ * time and makes the database walk up to {@code maxRows} matching rows on every call.
+ */
+final class RowLimitGuard {
+
+  private static final Logger LOG = Logger.getLogger(RowLimitGuard.class);
+
+  private final int maxRows;
+
+  private final QueryOptions.Overflow overflow;
+
+  private final boolean probeCallbacks;
+
+  private final String comment;
+
+  private RowLimitGuard(int maxRows, QueryOptions.Overflow overflow, boolean probeCallbacks, String comment) {
+    this.maxRows = maxRows;
+    this.overflow = overflow;
+    this.probeCallbacks = probeCallbacks;
+    this.comment = comment;
+  }
+
+  static RowLimitGuard fromConfig() {
+    Config config = ConfigProvider.getConfig();
+    return new RowLimitGuard(
+        config.getOptionalValue("query-sculptor.max-rows", Integer.class).orElse(-1),
+        config
+            .getOptionalValue("query-sculptor.max-rows.overflow", QueryOptions.Overflow.class)
+            .orElse(QueryOptions.Overflow.FAIL),
+        config.getOptionalValue("query-sculptor.max-rows.probe-callbacks", Boolean.class).orElse(false),
+        null);
+  }
+
+  RowLimitGuard withOptions(QueryOptions options) {
+    if (options.getMaxRows() == null && options.getComment() == null) {
+      return this;
+    }
+    return options.getMaxRows() == null
+        ? new RowLimitGuard(maxRows, overflow, probeCallbacks, options.getComment())
+        : new RowLimitGuard(options.getMaxRows(), options.getOverflow(), probeCallbacks, options.getComment());
+  }
+
+  boolean isEnabled() {
+    return maxRows >= 0;
+  }
+
+  /** Whether queries handed to a caller's callback are probed for an overflow. */
+  boolean isProbing() {
+    return isEnabled() && probeCallbacks;
+  }
+
+  <Q extends SelectionQuery<?>> Q limit(Q query) {
+    if (isEnabled()) {
+      query.setMaxResults(maxRows == Integer.MAX_VALUE ? maxRows : maxRows + 1);
+    }
+    return query;
+  }
+
+  /**
+   * @param query The offending query, a criteria query or an HQL string, used to report an overflow.
+   */
+  <T> List<T> check(List<T> rows, Class<?> entityClass, Object query) {
+    if (!isEnabled() || rows.size() <= maxRows) {
+      return rows;
+    }
+    overflow(entityClass, query);
+    return rows.subList(0, maxRows);
+  }
+
+  /**
+   * Reports an overflow: logs it, counts it and throws when the policy is {@link
+   * QueryOptions.Overflow#FAIL}. Returns normally when the result should be truncated.
+   */
+  void overflow(Class<?> entityClass, Object query) {
+    QuerySculptorMetrics.rowLimitOverflow();
+    LOG.warnf(
+        "Query on %s exceeded the limit of %d rows: %s",
+        entityClass.getName(), maxRows, describe(query));
+    if (overflow == QueryOptions.Overflow.FAIL) {
+      throw new IllegalStateException(
+          "query on " + entityClass.getName() + " returned more than " + maxRows + " rows");
+    }
+  }
+
+  int getMaxRows() {
+    return maxRows;
+  }
+
+  /**
+   * Renders the query as HQL, since sculptors are lambdas whose class names say nothing about the
+   * filter, followed by the comment tag of the options when one is set.
+   */
+  private String describe(Object query) {
+    String text =
+        query instanceof SqmSelectStatement<?> statement ? statement.toHqlString() : String.valueOf(query);
+    return comment == null ? text : text + " /* " + comment + " */";
+  }
+}
@@ -0,0 +1,41 @@
+package io.github.querysculptor;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the database side search functions used by {@link SearchQuerySculptor}. They are only
+ * registered for dialects able to answer them from an index; elsewhere the sculptors fall back to
+ * {@code LIKE}.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+  static final String FULL_TEXT = "qs_full_text";
+
+  static final String TRIGRAM = "qs_trigram";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+      return;
+    }
+    SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+    BasicType<Boolean> booleanType =
+        functionContributions
+            .getTypeConfiguration()
+            .getBasicTypeRegistry()
+            .resolve(StandardBasicTypes.BOOLEAN);
+
+    // qs_full_text(config, document, query), backed by a GIN index on to_tsvector(config, document)
+    registry.registerPattern(
+        FULL_TEXT,
+        "(to_tsvector(cast(?1 as regconfig), ?2) @@ plainto_tsquery(cast(?1 as regconfig), ?3))",
+        booleanType);
+    // qs_trigram(value, query), backed by a GIN/GiST gin_trgm_ops index (pg_trgm extension)
+    registry.registerPattern(TRIGRAM, "(?1 % ?2)", booleanType);
+  }
+}
@@ -0,0 +1,134 @@
+package io.github.querysculptor;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.sqm.NodeBuilder;
+
+import java.util.Locale;
+
+/**
+ * Text search query sculptors which can be answered from an index instead of a leading wildcard
+ * {@code LIKE '%x%'}.
+ *
+ * <p>On PostgreSQL they render {@code to_tsvector(...) @@ plainto_tsquery(...)} and the {@code
+ * pg_trgm} similarity operator {@code %} through the functions registered by {@link
+ * SearchFunctionContributor}. On other databases, such as H2, they fall back to a case-insensitive
+ * {@code LIKE '%x%'}.
+ *
+ * <pre>{@code
+ * userRepository.list(SearchQuerySculptor.fullText("username", username));
+ * }</pre>
+ */
+public final class SearchQuerySculptor {
+
+  /** The text search configuration used when none is given. */
+  public static final String DEFAULT_TEXT_SEARCH_CONFIG = "simple";
+
+  private SearchQuerySculptor() {}
+
+  /**
+   * Matches entities whose attribute contains all the words of {@code text}. The {@code LIKE}
+   * fallback matches {@code text} as a whole phrase instead, see {@link #containing}.
+   *
+   * @param <T> The entity type.
+   * @param attributePath The searched attribute, dotted for nested attributes.
+   * @param text The words to search for.
+   * @return A full-text query sculptor.
+   */
+  public static <T> QuerySculptor<T> fullText(String attributePath, String text) {
+    return fullText(attributePath, text, DEFAULT_TEXT_SEARCH_CONFIG);
+  }
+
+  /**
+   * Matches entities whose attribute contains all the words of {@code text}, analyzed with the
+   * given PostgreSQL text search configuration such as {@code "english"}. The {@code LIKE} fallback
+   * matches {@code text} as a whole phrase instead, see {@link #containing}.
+   *
+   * @param <T> The entity type.
+   * @param attributePath The searched attribute, dotted for nested attributes.
+   * @param text The words to search for.
+   * @param textSearchConfig The text search configuration, ignored by the {@code LIKE} fallback.
+   * @return A full-text query sculptor.
+   */
+  public static <T> QuerySculptor<T> fullText(
+      String attributePath, String text, String textSearchConfig) {
+    Assert.notNull(textSearchConfig, "textSearchConfig must be not null");
+    return QuerySculptor.ifNotEmpty(
+        (root, query, cb) -> {
+          Expression<String> attribute = JpaPaths.resolve(root, attributePath);
+          if (!isRegistered(cb, SearchFunctionContributor.FULL_TEXT)) {
+            return containing(cb, attribute, text);
+          }
+          return cb.isTrue(
+              cb.function(
+                  SearchFunctionContributor.FULL_TEXT,
+                  Boolean.class,
+                  // kept inline, an expression index on to_tsvector needs a constant configuration
+                  cb.literal(textSearchConfig),
+                  attribute,
+                  bind(cb, text)));
+        },
+        text);
+  }
+
+  /**
+   * Matches entities whose attribute is similar to {@code text} according to {@code pg_trgm},
+   * tolerating typos and partial words.
+   *
+   * @param <T> The entity type.
+   * @param attributePath The searched attribute, dotted for nested attributes.
+   * @param text The text to compare with.
+   * @return A trigram similarity query sculptor.
+   */
+  public static <T> QuerySculptor<T> similarTo(String attributePath, String text) {
+    return QuerySculptor.ifNotEmpty(
+        (root, query, cb) -> {
+          Expression<String> attribute = JpaPaths.resolve(root, attributePath);
+          if (!isRegistered(cb, SearchFunctionContributor.TRIGRAM)) {
+            return containing(cb, attribute, text);
+          }
+          return cb.isTrue(
+              cb.function(
+                  SearchFunctionContributor.TRIGRAM, Boolean.class, attribute, bind(cb, text)));
+        },
+        text);
+  }
+
+  /**
+   * Matches entities whose attribute contains {@code text}, ignoring case. Wildcards in {@code
+   * text} are matched literally. This is the portable fallback of the other sculptors and cannot
+   * use a regular B-tree index.
+   *
+   * @param <T> The entity type.
+   * @param attributePath The searched attribute, dotted for nested attributes.
+   * @param text The text to search for.
+   * @return A {@code LIKE} query sculptor.
+   */
+  public static <T> QuerySculptor<T> containing(String attributePath, String text) {
+    return QuerySculptor.ifNotEmpty(
+        (root, query, cb) -> containing(cb, JpaPaths.resolve(root, attributePath), text), text);
+  }
+
+  private static Predicate containing(CriteriaBuilder cb, Expression<String> attribute, String text) {
+    String escaped =
+        text.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    return cb.like(cb.lower(attribute), "%" + escaped + "%", '\\');
+  }
+
+  /**
+   * Binds the search text as a parameter: Hibernate renders criteria literals inline, which would
+   * give every search its own SQL string and defeat the prepared statement cache. Only called once
+   * {@link #isRegistered} has established a Hibernate criteria builder.
+   */
+  private static Expression<String> bind(CriteriaBuilder cb, String text) {
+    return ((HibernateCriteriaBuilder) cb).value(text);
+  }
+
+  private static boolean isRegistered(CriteriaBuilder cb, String function) {
+    return cb instanceof NodeBuilder nodeBuilder
+        && nodeBuilder.getQueryEngine().getSqmFunctionRegistry().findFunctionDescriptor(function)
+            != null;
+  }
+}
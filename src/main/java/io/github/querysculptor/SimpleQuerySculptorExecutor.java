@@ -1,41 +1,101 @@
 package io.github.querysculptor;
 
+import io.quarkus.arc.Arc;
 import io.quarkus.hibernate.orm.panache.Panache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.annotation.Priority;
 import jakarta.decorator.Decorator;
 import jakarta.decorator.Delegate;
 import jakarta.enterprise.inject.Any;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.*;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
 import org.hibernate.query.Order;
 import org.hibernate.query.Page;
 import org.hibernate.query.Query;
+import org.hibernate.query.SelectionQuery;
 import org.hibernate.query.SortDirection;
+import org.hibernate.query.sqm.tree.expression.SqmParameter;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Decorator
 @Priority(0)
 public class SimpleQuerySculptorExecutor<ENTITY> implements QuerySculptorExecutor<ENTITY> {
 
+    private static final int SCAN_FETCH_SIZE = 500;
+
+    private static final int WRITE_BATCH_SIZE = 50;
+
+    private static final int DEFAULT_SCAN_CONCURRENCY = 4;
+
+    private static final Duration DEFAULT_SCAN_TIMEOUT = Duration.ofHours(1);
+
+    private static final Set<Class<?>> INTEGRAL_KEY_TYPES = Set.of(
+            Long.class, Integer.class, Short.class, Byte.class, long.class, int.class, short.class, byte.class);
+
     private final QuerySculptorExecutor<ENTITY> delegate;
 
     private final QueryProvider<ENTITY> queryProvider;
 
+    private final RowLimitGuard rowLimitGuard;
+
+    private final int scanConcurrency;
+
+    private final Duration scanTimeout;
+
     public SimpleQuerySculptorExecutor(
             @Delegate @Any QuerySculptorExecutor<ENTITY> delegate) {
         this.delegate = delegate;
         queryProvider = new QueryProvider<>(this);
+        rowLimitGuard = RowLimitGuard.fromConfig();
+
+        Config config = ConfigProvider.getConfig();
+        scanConcurrency = config.getOptionalValue("query-sculptor.scan.max-concurrency", Integer.class).orElse(DEFAULT_SCAN_CONCURRENCY);
+        if (scanConcurrency <= 0) {
+            throw new IllegalArgumentException("query-sculptor.scan.max-concurrency must be greater than zero");
+        }
+        scanTimeout = config.getOptionalValue("query-sculptor.scan.timeout", Duration.class).orElse(DEFAULT_SCAN_TIMEOUT);
     }
 
     @Override
     public List<ENTITY> list(QuerySculptor<ENTITY> querySculptor) {
+        return list(querySculptor, QueryOptions.defaults());
+    }
+
+    @Override
+    public List<ENTITY> list(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
         Assert.notNull(querySculptor, "querySculptor must be not null");
+        Assert.notNull(options, "options must be not null");
 
-        return getSessionFactory().fromTransaction(session -> session.createQuery(getCriteriaQuery(querySculptor, queryProvider.selectQuery())).getResultList());
+        RowLimitGuard guard = rowLimitGuard.withOptions(options);
+        return inSession(options, session -> {
+            CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
+            List<ENTITY> rows = guard.limit(options.applyToSelection(session.createQuery(criteriaQuery))).getResultList();
+            return guard.check(rows, entityClass(), criteriaQuery);
+        });
     }
 
     @Override
@@ -45,14 +105,28 @@ public class SimpleQuerySculptorExecutor<ENTITY> implements QuerySculptorExecuto
 
     @Override
     public <R> R findAll(QuerySculptor<ENTITY> querySculptor, PageRequest pageRequest, Function<Query<ENTITY>, R> callback) {
+        return findAll(querySculptor, pageRequest, QueryOptions.defaults(), callback);
+    }
+
+    /**
+     * The row limit does not apply to the query handed to the callback unless {@code
+     * query-sculptor.max-rows.probe-callbacks} is enabled. Unpaged queries are then first probed
+     * for a row past the limit, which runs the filter twice; an overflow is reported and then
+     * either fails or caps the query.
+     */
+    @Override
+    public <R> R findAll(QuerySculptor<ENTITY> querySculptor, PageRequest pageRequest, QueryOptions options, Function<Query<ENTITY>, R> callback) {
         Assert.notNull(querySculptor, "querySculptor must be not null");
         Assert.notNull(pageRequest, "pageRequest must be not null");
+        Assert.notNull(options, "options must be not null");
         Assert.notNull(callback, "callback cannot be null");
 
-        return getSessionFactory().fromSession(session -> {
+        RowLimitGuard guard = rowLimitGuard.withOptions(options);
+        return inSession(options, session -> {
 
             Paging requestPaging = pageRequest.getPage();
-            org.hibernate.query.Query<ENTITY> selectionQuery = session.createQuery(getCriteriaQuery(querySculptor, queryProvider.selectQuery()));
+            CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
+            org.hibernate.query.Query<ENTITY> selectionQuery = session.createQuery(criteriaQuery);
 
             if (!requestPaging.isUnPaged()) {
                 Page paging = Page.page(requestPaging.getSize(), requestPaging.getIndex());
@@ -63,60 +137,596 @@ public class SimpleQuerySculptorExecutor<ENTITY> implements QuerySculptorExecuto
                     orders.add(Order.by(entityClass(), column.getName(), direction));
                 }
                 selectionQuery = selectionQuery.setPage(paging).setOrder(orders);
+            } else if (guard.isProbing() && exceedsRowLimit(session, querySculptor, guard, options)) {
+                guard.overflow(entityClass(), criteriaQuery);
+                selectionQuery.setMaxResults(guard.getMaxRows());
             }
 
-            return callback.apply(selectionQuery);
+            return callback.apply(options.applyToSelection(selectionQuery));
         });
     }
 
     @Override
     public boolean exists(QuerySculptor<ENTITY> querySculptor) {
+        return exists(querySculptor, QueryOptions.defaults());
+    }
+
+    @Override
+    public boolean exists(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
         Assert.notNull(querySculptor);
+        Assert.notNull(options);
+
+        return inSession(options, session -> exists(session, querySculptor, options));
+    }
 
-        return getSessionFactory().fromSession(session -> {
+    @Override
+    public long count(QuerySculptor<ENTITY> querySculptor) {
+        return count(querySculptor, QueryOptions.defaults());
+    }
 
-            CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
-            Query<ENTITY> query = session.createQuery(criteriaQuery);
-            query.setMaxResults(1);
+    @Override
+    public long count(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        Assert.notNull(querySculptor);
+        Assert.notNull(options);
 
-            return (query.uniqueResult() != null);
-        });
+        return inSession(options, session -> count(session, querySculptor, options));
     }
 
     @Override
     public int delete(QuerySculptor<ENTITY> querySculptor) {
+        return delete(querySculptor, QueryOptions.defaults());
+    }
+
+    @Override
+    public int delete(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
         Assert.notNull(querySculptor);
+        Assert.notNull(options);
 
-        return getSessionFactory().fromTransaction(session -> {
+        return inTransaction(session -> {
             CriteriaDelete<ENTITY> criteriaDelete = createCriteriaDelete(querySculptor, queryProvider.deleteQuery());
-            return session.createMutationQuery(criteriaDelete).executeUpdate();
+            return options.applyToMutation(session.createMutationQuery(criteriaDelete)).executeUpdate();
         });
     }
 
     @Override
     public int update(QuerySculptor<ENTITY> querySculptor, Consumer<CriteriaUpdate<ENTITY>> callback) {
+        return update(querySculptor, QueryOptions.defaults(), callback);
+    }
+
+    @Override
+    public int update(QuerySculptor<ENTITY> querySculptor, QueryOptions options, Consumer<CriteriaUpdate<ENTITY>> callback) {
         Assert.notNull(querySculptor);
+        Assert.notNull(options);
 
-        return getSessionFactory().fromTransaction(session -> {
+        return inTransaction(session -> {
             CriteriaUpdate<ENTITY> criteriaUpdate = createCriteriaUpdate(querySculptor, queryProvider.updateQuery());
             if (callback != null) {
                 callback.accept(criteriaUpdate);
             }
 
-            return session.createMutationQuery(criteriaUpdate).executeUpdate();
+            return options.applyToMutation(session.createMutationQuery(criteriaUpdate)).executeUpdate();
         });
     }
 
     @Override
     public ENTITY findOne(QuerySculptor<ENTITY> querySculptor) {
+        return findOne(querySculptor, QueryOptions.defaults());
+    }
+
+    @Override
+    public ENTITY findOne(QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
         Assert.notNull(querySculptor);
+        Assert.notNull(options);
+
+        return inSession(options, session -> {
+            CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
+            return options.applyToSelection(session.createQuery(criteriaQuery)).getSingleResult();
+        });
+    }
+
+    @Override
+    public int claim(QuerySculptor<ENTITY> querySculptor, int batchSize, Consumer<List<ENTITY>> callback) {
+        return claim(querySculptor, batchSize, QueryOptions.defaults(), callback);
+    }
+
+    /**
+     * Selects up to {@code batchSize} rows matching the sculptor with {@code FOR UPDATE SKIP LOCKED}
+     * and hands them to the callback inside the same transaction, so competing consumers never
+     * wait on each other's rows. The transaction commits once the callback returns, or with the
+     * caller's transaction when one is already active.
+     */
+    @Override
+    public int claim(QuerySculptor<ENTITY> querySculptor, int batchSize, QueryOptions options, Consumer<List<ENTITY>> callback) {
+        Assert.notNull(querySculptor, "querySculptor must be not null");
+        Assert.notNull(options, "options must be not null");
+        Assert.notNull(callback, "callback cannot be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
 
-        return getSessionFactory().fromTransaction(session -> {
+        QueryOptions claimOptions = options.getLockMode() == null ? options.skipLocked() : options;
+
+        return inTransaction(session -> {
             CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
-            return session.createQuery(criteriaQuery).getSingleResult();
+            List<ENTITY> claimed = claimOptions.applyToSelection(session.createQuery(criteriaQuery))
+                    .setMaxResults(batchSize)
+                    .getResultList();
+            if (!claimed.isEmpty()) {
+                callback.accept(claimed);
+            }
+            return claimed.size();
+        });
+    }
+
+    @Override
+    public long scanPartitioned(QuerySculptor<ENTITY> querySculptor, String partitionKey, int partitions, Consumer<? super ENTITY> consumer) {
+        return scanPartitioned(querySculptor, partitionKey, partitions, QueryOptions.defaults(), consumer);
+    }
+
+    /**
+     * Splits the {@code [min, max]} range of an integral partition key (usually the id) into
+     * {@code partitions} slices and streams them on virtual threads, at most {@code
+     * query-sculptor.scan.max-concurrency} (4 by default) at a time so the scan does not exhaust
+     * the datasource pool. Each slice is read through a {@link StatelessSession} in its own
+     * transaction, whose timeout is the one of the options or {@code query-sculptor.scan.timeout}
+     * (one hour by default). The consumer is invoked from several threads at once and must be
+     * thread-safe.
+     */
+    @Override
+    public long scanPartitioned(QuerySculptor<ENTITY> querySculptor, String partitionKey, int partitions, QueryOptions options, Consumer<? super ENTITY> consumer) {
+        Assert.notNull(querySculptor, "querySculptor must be not null");
+        Assert.notNull(partitionKey, "partitionKey must be not null");
+        Assert.notNull(options, "options must be not null");
+        Assert.notNull(consumer, "consumer cannot be null");
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("partitions must be greater than zero");
+        }
+        if (options.getLockMode() != null) {
+            throw new IllegalArgumentException("lock modes are not supported by partitioned scans");
+        }
+
+        // sessions are opened on worker threads, resolve everything tied to the caller context first
+        SessionFactory sessionFactory = getSessionFactory();
+        CriteriaBuilder cb = getCriteriaBuilder();
+        QueryOptions scanOptions = options.getFetchSize() == null ? options.fetchSize(SCAN_FETCH_SIZE) : options;
+
+        Object[] bounds = sessionFactory.fromSession(session -> {
+            CriteriaQuery<Object[]> probe = cb.createQuery(Object[].class);
+            Root<ENTITY> root = probe.from(entityClass());
+            Path<Number> key = JpaPaths.resolve(root, partitionKey);
+            if (!INTEGRAL_KEY_TYPES.contains(key.getJavaType())) {
+                throw new IllegalArgumentException("partitionKey " + partitionKey + " must be an integral attribute (long, int, short or byte) but is " + key.getJavaType().getName());
+            }
+            probe.multiselect(cb.min(key), cb.max(key));
+            Predicate predicate = querySculptor.carveCondition(root, probe, cb);
+            if (predicate != null) {
+                probe.where(predicate);
+            }
+            return options.applyToProbe(session.createQuery(probe)).getSingleResult();
+        });
+        if (bounds[0] == null || bounds[1] == null) {
+            return 0;
+        }
+
+        List<CriteriaQuery<ENTITY>> sliceQueries = new ArrayList<>();
+        for (PartitionRange range : PartitionRange.split(((Number) bounds[0]).longValue(), ((Number) bounds[1]).longValue(), partitions)) {
+            QuerySelectionMetadata<ENTITY> metadata = (QuerySelectionMetadata<ENTITY>) queryProvider.selectQuery();
+            Path<Number> key = JpaPaths.resolve(metadata.getRoot(), partitionKey);
+            Predicate slice = cb.and(cb.ge(key, range.lower()), cb.le(key, range.upper()));
+            sliceQueries.add(getCriteriaQuery(querySculptor.and((r, q, b) -> slice), metadata));
+        }
+
+        Integer optionsTimeout = options.effectiveTimeoutSeconds();
+        int timeoutSeconds = optionsTimeout != null ? optionsTimeout : (int) Math.min(Math.max(scanTimeout.toSeconds(), 1), Integer.MAX_VALUE);
+        Semaphore permits = new Semaphore(scanConcurrency);
+        AtomicLong scanned = new AtomicLong();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (CriteriaQuery<ENTITY> sliceQuery : sliceQueries) {
+                futures.add(workers.submit(() -> {
+                    permits.acquire();
+                    try {
+                        scanSlice(sessionFactory, sliceQuery, scanOptions, timeoutSeconds, consumer, scanned);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            awaitAll(futures);
+        }
+        return scanned.get();
+    }
+
+    /**
+     * Streams one slice. The transaction keeps the connection out of autocommit, which drivers such
+     * as PostgreSQL's require to honour the fetch size instead of buffering the whole slice, and the
+     * stateless session keeps no reference to the rows already handed to the consumer.
+     */
+    private static <ENTITY> void scanSlice(SessionFactory sessionFactory, CriteriaQuery<ENTITY> sliceQuery, QueryOptions options, int timeoutSeconds, Consumer<? super ENTITY> consumer, AtomicLong scanned) {
+        QuarkusTransaction.requiringNew().timeout(timeoutSeconds).run(() -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession();
+                 Stream<ENTITY> rows = options.applyToSelection(session.createSelectionQuery(sliceQuery)).getResultStream()) {
+                rows.forEach(entity -> {
+                    consumer.accept(entity);
+                    scanned.incrementAndGet();
+                });
+            }
+        });
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("partition scan failed", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("partition scan interrupted", e);
+        }
+    }
+
+    @Override
+    public List<Tuple> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation) {
+        return aggregate(querySculptor, aggregation, QueryOptions.defaults());
+    }
+
+    @Override
+    public <R> List<R> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, Function<Tuple, R> mapper) {
+        return aggregate(querySculptor, aggregation, QueryOptions.defaults(), mapper);
+    }
+
+    @Override
+    public <R> List<R> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, QueryOptions options, Function<Tuple, R> mapper) {
+        Assert.notNull(mapper, "mapper cannot be null");
+
+        return aggregate(querySculptor, aggregation, options).stream().map(mapper).toList();
+    }
+
+    @Override
+    public List<Tuple> aggregate(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, QueryOptions options) {
+        Assert.notNull(querySculptor, "querySculptor must be not null");
+        Assert.notNull(aggregation, "aggregation must be not null");
+        Assert.notNull(options, "options must be not null");
+        if (aggregation.getGroupBy().isEmpty() && aggregation.getAggregates().isEmpty()) {
+            throw new IllegalArgumentException("aggregation must select at least one group-by path or aggregate");
+        }
+
+        return inSession(options, session -> {
+            CriteriaQuery<Tuple> criteriaQuery = createAggregateQuery(querySculptor, aggregation, queryProvider.aggregateQuery());
+            return options.applyToProbe(session.createQuery(criteriaQuery)).getResultList();
         });
     }
 
+    @Override
+    public int insertAll(Collection<? extends ENTITY> entities) {
+        return insertAll(entities, WRITE_BATCH_SIZE);
+    }
+
+    @Override
+    public int insertAll(Collection<? extends ENTITY> entities, int batchSize) {
+        return insertAll(entities, batchSize, QueryOptions.defaults());
+    }
+
+    /**
+     * Inserts the entities through a {@link StatelessSession}, so nothing accumulates in a
+     * persistence context, with JDBC batching of {@code batchSize} statements. Note that
+     * {@code IDENTITY} generated ids force Hibernate to insert row by row. Only the timeout and
+     * deadline of the options apply, as the timeout of the whole write transaction.
+     */
+    @Override
+    public int insertAll(Collection<? extends ENTITY> entities, int batchSize, QueryOptions options) {
+        return writeAll(entities, batchSize, options, StatelessSession::insert);
+    }
+
+    @Override
+    public int upsertAll(Collection<? extends ENTITY> entities) {
+        return upsertAll(entities, WRITE_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts or updates the entities by identifier with the dialect specific statement
+     * ({@code MERGE} or {@code INSERT ... ON CONFLICT}) generated by Hibernate.
+     *
+     * <p>Rows are matched on the primary key only: the entities must carry their identifier, and a
+     * row with the same natural key but a different identifier is inserted, or rejected by a unique
+     * constraint, rather than updated. Matching on other columns is not supported.
+     */
+    @Override
+    public int upsertAll(Collection<? extends ENTITY> entities, int batchSize) {
+        return upsertAll(entities, batchSize, QueryOptions.defaults());
+    }
+
+    @Override
+    public int upsertAll(Collection<? extends ENTITY> entities, int batchSize, QueryOptions options) {
+        return writeAll(entities, batchSize, options, StatelessSession::upsert);
+    }
+
+    private int writeAll(Collection<? extends ENTITY> entities, int batchSize, QueryOptions options, BiConsumer<StatelessSession, Object> writer) {
+        Assert.notNull(entities, "entities must be not null");
+        Assert.notNull(options, "options must be not null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+        if (entities.isEmpty()) {
+            return 0;
+        }
+
+        try (StatelessSession session = getSessionFactory().openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.getTransaction();
+            Integer timeoutSeconds = options.effectiveTimeoutSeconds();
+            if (timeoutSeconds != null) {
+                transaction.setTimeout(timeoutSeconds);
+            }
+            transaction.begin();
+            try {
+                for (ENTITY entity : entities) {
+                    writer.accept(session, entity);
+                }
+                transaction.commit();
+                return entities.size();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public QueryBatch<ENTITY> batch() {
+        return new QueryBatch<>(this::executeBatch);
+    }
+
+    /**
+     * Compiles the template and, when it renders to HQL, parses it once so the interpretation is
+     * cached before the first execution.
+     */
+    @Override
+    public void compile(QueryTemplate<ENTITY> template) {
+        Assert.notNull(template, "template must be not null");
+
+        QueryTemplate.Compiled<ENTITY> compiled = compiled(template);
+        if (compiled.getHql() != null) {
+            inSession(QueryOptions.defaults(), session -> session.createSelectionQuery(compiled.getHql(), entityClass()));
+        }
+    }
+
+    @Override
+    public List<ENTITY> execute(QueryTemplate<ENTITY> template, Map<String, ?> parameters) {
+        return execute(template, parameters, QueryOptions.defaults());
+    }
+
+    @Override
+    public List<ENTITY> execute(QueryTemplate<ENTITY> template, Map<String, ?> parameters, QueryOptions options) {
+        Assert.notNull(template, "template must be not null");
+        Assert.notNull(parameters, "parameters must be not null");
+        Assert.notNull(options, "options must be not null");
+
+        QueryTemplate.Compiled<ENTITY> compiled = compiled(template);
+        compiled.validate(parameters);
+
+        RowLimitGuard guard = rowLimitGuard.withOptions(options);
+        List<ENTITY> rows = inSession(options, session -> {
+            SelectionQuery<ENTITY> query = compiled.getHql() != null
+                    ? session.createSelectionQuery(compiled.getHql(), entityClass())
+                    : session.createQuery(compiled.getCriteriaQuery());
+            for (String name : compiled.getParameterNames()) {
+                query.setParameter(name, parameters.get(name));
+            }
+            return guard.limit(options.applyToSelection(query)).getResultList();
+        });
+        return guard.check(rows, entityClass(), compiled.getHql() != null ? compiled.getHql() : compiled.getCriteriaQuery());
+    }
+
+    private QueryTemplate.Compiled<ENTITY> compiled(QueryTemplate<ENTITY> template) {
+        QueryTemplate.Compiled<ENTITY> compiled = template.getCompiled();
+        if (compiled == null) {
+            synchronized (template) {
+                compiled = template.getCompiled();
+                if (compiled == null) {
+                    compiled = compileTemplate(template);
+                    template.setCompiled(compiled);
+                }
+            }
+        }
+        return compiled;
+    }
+
+    private QueryTemplate.Compiled<ENTITY> compileTemplate(QueryTemplate<ENTITY> template) {
+        CriteriaBuilder cb = getCriteriaBuilder();
+        QuerySelectionMetadata<ENTITY> metadata = (QuerySelectionMetadata<ENTITY>) queryProvider.selectQuery();
+        Map<String, ParameterExpression<?>> placeholders = new LinkedHashMap<>();
+        QueryTemplate.Parameters parameters = new QueryTemplate.Parameters() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <P> ParameterExpression<P> get(String name, Class<P> type) {
+                return (ParameterExpression<P>) placeholders.computeIfAbsent(name, key -> cb.parameter(type, key));
+            }
+        };
+
+        CriteriaQuery<ENTITY> criteriaQuery = metadata.getQuery();
+        Predicate predicate = template.getDefinition().carveCondition(metadata.getRoot(), criteriaQuery, cb, parameters);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+
+        return new QueryTemplate.Compiled<>(criteriaQuery, renderHql(criteriaQuery, placeholders.keySet()), Set.copyOf(placeholders.keySet()));
+    }
+
+    /**
+     * Renders the criteria tree to HQL so executions hit Hibernate's query plan cache. Values
+     * inlined by the definition (literals, captured variables) are bound inside the tree and would
+     * be lost, such templates keep executing from the criteria tree instead.
+     */
+    private static String renderHql(CriteriaQuery<?> criteriaQuery, Set<String> placeholders) {
+        if (!(criteriaQuery instanceof SqmSelectStatement<?> statement)) {
+            return null;
+        }
+        for (SqmParameter<?> parameter : statement.getSqmParameters()) {
+            if (parameter.getName() == null || !placeholders.contains(parameter.getName())) {
+                return null;
+            }
+        }
+        return statement.toHqlString();
+    }
+
+    @Override
+    public Collection<QueryTemplate<ENTITY>> warmUpTemplates() {
+        return delegate.warmUpTemplates();
+    }
+
+    /**
+     * Compiles every registered template and parses the ones rendering to HQL into Hibernate's
+     * interpretation cache, so their first executions skip both the criteria carving and the HQL
+     * interpretation. Templates holding values outside of their placeholders keep executing from
+     * the criteria tree, which Hibernate does not cache, and only have their carving done ahead.
+     * Nothing is executed against the database.
+     */
+    @Override
+    public Duration warmUp() {
+        long start = System.nanoTime();
+        for (QueryTemplate<ENTITY> template : warmUpTemplates()) {
+            compile(template);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Runs the batch on one session. Count/exists entries are folded into a single statement when
+     * possible, list entries run one statement each on the same connection.
+     */
+    private void executeBatch(QueryBatch<ENTITY> batch, QueryOptions options) {
+        RowLimitGuard guard = rowLimitGuard.withOptions(options);
+        inSession(options, session -> {
+            List<QueryBatch.Entry<ENTITY>> counts = new ArrayList<>();
+            for (QueryBatch.Entry<ENTITY> entry : batch.getEntries()) {
+                if (entry.getKind() == QueryBatch.Kind.LIST) {
+                    CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(entry.getQuerySculptor(), queryProvider.selectQuery());
+                    List<ENTITY> rows = guard.limit(options.applyToSelection(session.createQuery(criteriaQuery))).getResultList();
+                    entry.complete(guard.check(rows, entityClass(), criteriaQuery));
+                } else {
+                    counts.add(entry);
+                }
+            }
+            if (counts.size() > 1 && countCombined(session, counts, options)) {
+                return null;
+            }
+            for (QueryBatch.Entry<ENTITY> entry : counts) {
+                entry.complete(entry.getKind() == QueryBatch.Kind.COUNT
+                        ? count(session, entry.getQuerySculptor(), options)
+                        : exists(session, entry.getQuerySculptor(), options));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Folds several count/exists queries into one select of {@code sum(case when p then 1 else 0 end)}
+     * columns restricted to {@code p1 or p2 ...}. Not applicable when a sculptor adds joins or extra
+     * roots, since these change the row multiplicity the sums are computed over.
+     */
+    private boolean countCombined(Session session, List<QueryBatch.Entry<ENTITY>> entries, QueryOptions options) {
+        CriteriaBuilder cb = getCriteriaBuilder();
+        QueryAggregationMetadata<ENTITY> metadata = (QueryAggregationMetadata<ENTITY>) queryProvider.aggregateQuery();
+        Root<ENTITY> root = metadata.getRoot();
+        CriteriaQuery<Tuple> criteriaQuery = metadata.getQuery();
+
+        List<Predicate> predicates = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (QueryBatch.Entry<ENTITY> entry : entries) {
+            Predicate predicate = entry.getQuerySculptor().carveCondition(root, criteriaQuery, cb);
+            predicate = predicate != null ? predicate : cb.conjunction();
+            predicates.add(predicate);
+            selections.add(cb.sum(cb.<Integer>selectCase().when(predicate, 1).otherwise(0)));
+        }
+        if (!root.getJoins().isEmpty() || criteriaQuery.getRoots().size() != 1 || criteriaQuery.isDistinct()) {
+            return false;
+        }
+
+        criteriaQuery.multiselect(selections).where(cb.or(predicates.toArray(new Predicate[0])));
+        Tuple row = options.applyToProbe(session.createQuery(criteriaQuery)).getSingleResult();
+        for (int i = 0; i < entries.size(); i++) {
+            Number matched = (Number) row.get(i);
+            long count = matched != null ? matched.longValue() : 0L;
+            QueryBatch.Entry<ENTITY> entry = entries.get(i);
+            entry.complete(entry.getKind() == QueryBatch.Kind.COUNT ? (Object) count : (Object) (count > 0));
+        }
+        return true;
+    }
+
+    private boolean exists(Session session, QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
+        Query<ENTITY> query = options.applyToSelection(session.createQuery(criteriaQuery));
+        query.setMaxResults(1);
+
+        return (query.uniqueResult() != null);
+    }
+
+    /**
+     * Looks for a single row past the limit, so an overflow is detected before the caller executes
+     * the query. Lock hints are not applied to the probe.
+     */
+    private boolean exceedsRowLimit(Session session, QuerySculptor<ENTITY> querySculptor, RowLimitGuard guard, QueryOptions options) {
+        CriteriaQuery<ENTITY> criteriaQuery = getCriteriaQuery(querySculptor, queryProvider.selectQuery());
+        return !options.applyToProbe(session.createQuery(criteriaQuery))
+                .setFirstResult(guard.getMaxRows())
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private long count(Session session, QuerySculptor<ENTITY> querySculptor, QueryOptions options) {
+        CriteriaBuilder cb = getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = cb.createQuery(Long.class);
+        Root<ENTITY> root = criteriaQuery.from(entityClass());
+        Predicate predicate = querySculptor.carveCondition(root, criteriaQuery, cb);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        criteriaQuery.select(criteriaQuery.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+
+        return options.applyToProbe(session.createQuery(criteriaQuery)).getSingleResult();
+    }
+
+    /**
+     * Runs the work on the caller's session when a transaction is already active, so the call
+     * shares its connection and persistence context, otherwise in a new transaction.
+     */
+    private <R> R inTransaction(Function<Session, R> work) {
+        if (QuarkusTransaction.isActive()) {
+            return work.apply(Panache.getSession());
+        }
+        return getSessionFactory().fromTransaction(work);
+    }
+
+    /**
+     * Runs read work on the caller's session when a transaction or a request scoped session is
+     * available, opening a new session only when there is none. Pessimistic locks are only held
+     * within a transaction, so locking reads outside one get a new transaction.
+     */
+    private <R> R inSession(QueryOptions options, Function<Session, R> work) {
+        if (QuarkusTransaction.isActive()) {
+            return work.apply(Panache.getSession());
+        }
+        if (options.requiresTransaction()) {
+            return getSessionFactory().fromTransaction(work);
+        }
+        if (Arc.container().requestContext().isActive()) {
+            return work.apply(Panache.getSession());
+        }
+        return getSessionFactory().fromSession(work);
+    }
+
     private CriteriaUpdate<ENTITY> createCriteriaUpdate(QuerySculptor<ENTITY> jpaUpdateQuery, QueryMetadata<ENTITY> metadata) {
         Root<ENTITY> root = metadata.getRoot();
 
@@ -141,6 +751,43 @@ public class SimpleQuerySculptorExecutor<ENTITY> implements QuerySculptorExecuto
         return (predicate != null ? criteriaDelete.where(predicate) : criteriaDelete);
     }
 
+    private CriteriaQuery<Tuple> createAggregateQuery(QuerySculptor<ENTITY> querySculptor, Aggregation aggregation, QueryMetadata<ENTITY> metadata) {
+        Root<ENTITY> root = metadata.getRoot();
+        CriteriaBuilder cb = getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> criteriaQuery = ((QueryAggregationMetadata<ENTITY>) metadata).getQuery();
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groupings = new ArrayList<>();
+        for (String groupBy : aggregation.getGroupBy()) {
+            Path<?> path = JpaPaths.resolve(root, groupBy);
+            selections.add(path.alias(Aggregation.aliasOf(groupBy)));
+            groupings.add(path);
+        }
+        for (Aggregation.Aggregate aggregate : aggregation.getAggregates()) {
+            selections.add(aggregateExpression(cb, root, aggregate).alias(aggregate.getAlias()));
+        }
+        criteriaQuery.multiselect(selections).groupBy(groupings);
+
+        Predicate predicate = querySculptor.carveCondition(root, criteriaQuery, cb);
+        return (predicate != null ? criteriaQuery.where(predicate) : criteriaQuery);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Expression<?> aggregateExpression(CriteriaBuilder cb, Root<?> root, Aggregation.Aggregate aggregate) {
+        if (aggregate.getPath() == null) {
+            return cb.count(root);
+        }
+        Path path = JpaPaths.resolve(root, aggregate.getPath());
+        return switch (aggregate.getFunction()) {
+            case COUNT -> cb.count(path);
+            case COUNT_DISTINCT -> cb.countDistinct(path);
+            case SUM -> cb.sum(path);
+            case AVG -> cb.avg(path);
+            case MIN -> cb.least(path);
+            case MAX -> cb.greatest(path);
+        };
+    }
+
     private CriteriaQuery<ENTITY> getCriteriaQuery(QuerySculptor<ENTITY> querySculptor, QueryMetadata<ENTITY> metadata) {
         Root<ENTITY> root = metadata.getRoot();
 
@@ -0,0 +1,280 @@
+package io.github.querysculptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class InMemoryEvaluatorTest {
+
+  enum Priority {
+    LOW {
+      @Override
+      boolean urgent() {
+        return false;
+      }
+    },
+    HIGH {
+      @Override
+      boolean urgent() {
+        return true;
+      }
+    };
+
+    abstract boolean urgent();
+  }
+
+  static class Address {
+    private final String city;
+
+    Address(String city) {
+      this.city = city;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+
+  static class Ticket {
+    private final String title;
+    private final Integer points;
+    private final Date createdAt;
+    private final Priority priority;
+    private final Address address;
+    private final Set<String> tags;
+
+    Ticket(String title, Integer points, Date createdAt, Priority priority, Address address, Set<String> tags) {
+      this.title = title;
+      this.points = points;
+      this.createdAt = createdAt;
+      this.priority = priority;
+      this.address = address;
+      this.tags = tags;
+    }
+
+    static Ticket titled(String title) {
+      return new Ticket(title, null, null, null, null, null);
+    }
+
+    static Ticket pointed(Integer points) {
+      return new Ticket("ticket", points, null, null, null, null);
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public Integer getPoints() {
+      return points;
+    }
+
+    public Date getCreatedAt() {
+      return createdAt;
+    }
+
+    public Priority getPriority() {
+      return priority;
+    }
+
+    public Address getAddress() {
+      return address;
+    }
+
+    public Set<String> getTags() {
+      return tags;
+    }
+  }
+
+  private static boolean matches(QuerySculptor<Ticket> querySculptor, Ticket ticket) {
+    return InMemoryEvaluator.compile(querySculptor, Ticket.class).test(ticket);
+  }
+
+  @Test
+  void nullSculptorConditionMatchesEverything() {
+    assertTrue(matches((root, query, cb) -> null, Ticket.pointed(null)));
+  }
+
+  @Test
+  void comparesMixedNumberTypes() {
+    Ticket ticket = Ticket.pointed(5);
+
+    assertTrue(matches((root, query, cb) -> cb.equal(root.get("points"), 5L), ticket));
+    assertTrue(matches((root, query, cb) -> cb.lt(root.<Integer>get("points"), 5.5d), ticket));
+    assertFalse(matches((root, query, cb) -> cb.gt(root.<Integer>get("points"), 5L), ticket));
+    assertTrue(matches((root, query, cb) -> cb.between(root.<Integer>get("points"), 5, 6), ticket));
+  }
+
+  @Test
+  void comparesSubclassAgainstComparableSuperclass() {
+    Date cutoff = new Date(2_000L);
+    // Hibernate loads java.util.Date attributes as java.sql.Timestamp
+    Ticket before = new Ticket("before", null, new Timestamp(1_000L), null, null, null);
+    Ticket after = new Ticket("after", null, new Timestamp(3_000L), null, null, null);
+    QuerySculptor<Ticket> createdBefore = (root, query, cb) -> cb.lessThan(root.<Date>get("createdAt"), cutoff);
+    QuerySculptor<Ticket> createdAfter = (root, query, cb) -> cb.greaterThan(root.<Date>get("createdAt"), cutoff);
+
+    assertTrue(matches(createdBefore, before));
+    assertFalse(matches(createdBefore, after));
+    assertFalse(matches(createdAfter, before));
+    assertTrue(matches(createdAfter, after));
+    assertTrue(matches((root, query, cb) -> cb.equal(root.get("createdAt"), new Date(1_000L)), before));
+  }
+
+  @Test
+  void comparesEnumConstantsWithBodies() {
+    Ticket low = new Ticket("low", null, null, Priority.LOW, null, null);
+    Ticket high = new Ticket("high", null, null, Priority.HIGH, null, null);
+
+    assertTrue(matches((root, query, cb) -> cb.greaterThan(root.<Priority>get("priority"), Priority.LOW), high));
+    assertFalse(matches((root, query, cb) -> cb.lessThan(root.<Priority>get("priority"), Priority.LOW), high));
+    assertTrue(matches((root, query, cb) -> cb.lessThan(root.<Priority>get("priority"), Priority.HIGH), low));
+    assertFalse(matches((root, query, cb) -> cb.greaterThan(root.<Priority>get("priority"), Priority.HIGH), low));
+    assertTrue(matches((root, query, cb) -> cb.equal(root.get("priority"), Priority.HIGH), high));
+  }
+
+  @Test
+  void rejectsOrderingOfIncomparableOperands() {
+    // the path is declared with the wrong type, as a sculptor written against another entity would
+    Predicate<Ticket> predicate = InMemoryEvaluator.compile(
+        (root, query, cb) -> cb.lessThan(root.<Priority>get("title"), Priority.LOW), Ticket.class);
+
+    assertThrows(IllegalArgumentException.class, () -> predicate.test(Ticket.titled("a")));
+  }
+
+  @Test
+  void equalityOfIncomparableOperandsIsFalse() {
+    assertFalse(matches((root, query, cb) -> cb.equal(root.get("title"), 5), Ticket.titled("5")));
+    assertTrue(matches((root, query, cb) -> cb.notEqual(root.get("title"), 5), Ticket.titled("5")));
+  }
+
+  @Test
+  void comparisonWithNullIsUnknown() {
+    Ticket unpointed = Ticket.pointed(null);
+
+    assertFalse(matches((root, query, cb) -> cb.equal(root.get("points"), 1), unpointed));
+    assertFalse(matches((root, query, cb) -> cb.notEqual(root.get("points"), 1), unpointed));
+    assertFalse(matches((root, query, cb) -> cb.not(cb.equal(root.get("points"), 1)), unpointed));
+    assertTrue(matches((root, query, cb) -> cb.isNull(root.get("points")), unpointed));
+  }
+
+  @Test
+  void junctionsFollowThreeValuedLogic() {
+    Ticket unpointed = Ticket.pointed(null);
+
+    // unknown OR true is true, unknown AND false is false
+    assertTrue(matches((root, query, cb) -> cb.or(cb.equal(root.get("points"), 1), cb.conjunction()), unpointed));
+    assertFalse(matches((root, query, cb) -> cb.or(cb.equal(root.get("points"), 1), cb.disjunction()), unpointed));
+    assertTrue(matches((root, query, cb) -> cb.not(cb.and(cb.equal(root.get("points"), 1), cb.disjunction())), unpointed));
+    // NOT (unknown AND true) stays unknown
+    assertFalse(matches((root, query, cb) -> cb.not(cb.and(cb.equal(root.get("points"), 1), cb.conjunction())), unpointed));
+  }
+
+  @Test
+  void composesSculptors() {
+    QuerySculptor<Ticket> small = (root, query, cb) -> cb.lessThan(root.<Integer>get("points"), 3);
+    QuerySculptor<Ticket> large = (root, query, cb) -> cb.greaterThan(root.<Integer>get("points"), 8);
+    QuerySculptor<Ticket> either = small.or(large);
+
+    List<Ticket> tickets = List.of(Ticket.pointed(1), Ticket.pointed(5), Ticket.pointed(9));
+
+    assertEquals(List.of(tickets.get(0), tickets.get(2)), InMemoryEvaluator.filter(either, Ticket.class, tickets));
+    assertEquals(List.of(tickets.get(1)), InMemoryEvaluator.filter(QuerySculptor.not(either), Ticket.class, tickets));
+  }
+
+  @Test
+  void inFollowsThreeValuedLogic() {
+    QuerySculptor<Ticket> inList = (root, query, cb) -> cb.in(root.get("points")).value(1).value(2);
+    QuerySculptor<Ticket> inListWithNull = (root, query, cb) -> cb.in(root.get("points")).value(1).value((Object) null);
+
+    assertTrue(matches(inList, Ticket.pointed(2)));
+    assertFalse(matches(inList, Ticket.pointed(3)));
+    assertFalse(matches(inList, Ticket.pointed(null)));
+    assertTrue(matches(inListWithNull, Ticket.pointed(1)));
+    // 3 NOT IN (1, null) is unknown
+    assertFalse(matches((root, query, cb) -> cb.not(cb.in(root.get("points")).value(1).value((Object) null)), Ticket.pointed(3)));
+    assertTrue(matches((root, query, cb) -> root.get("points").in(1L, 2L), Ticket.pointed(2)));
+    assertTrue(matches((root, query, cb) -> root.get("points").in(List.of(4, 5)), Ticket.pointed(5)));
+  }
+
+  @Test
+  void likeTranslatesWildcards() {
+    Ticket ticket = Ticket.titled("Fix login (v2)");
+
+    assertTrue(matches((root, query, cb) -> cb.like(root.<String>get("title"), "Fix%"), ticket));
+    assertTrue(matches((root, query, cb) -> cb.like(root.<String>get("title"), "%(v_)"), ticket));
+    assertFalse(matches((root, query, cb) -> cb.like(root.<String>get("title"), "fix%"), ticket));
+    assertFalse(matches((root, query, cb) -> cb.like(root.<String>get("title"), "Fix"), ticket));
+    assertTrue(matches((root, query, cb) -> cb.notLike(root.<String>get("title"), "%.*%"), ticket));
+  }
+
+  @Test
+  void likeHonoursEscapeCharacter() {
+    QuerySculptor<Ticket> literalPercent = (root, query, cb) -> cb.like(root.<String>get("title"), "100\\%%", '\\');
+
+    assertTrue(matches(literalPercent, Ticket.titled("100% done")));
+    assertFalse(matches(literalPercent, Ticket.titled("1000 done")));
+    assertTrue(matches((root, query, cb) -> cb.like(root.<String>get("title"), "a!_b", '!'), Ticket.titled("a_b")));
+    assertFalse(matches((root, query, cb) -> cb.like(root.<String>get("title"), "a!_b", '!'), Ticket.titled("axb")));
+  }
+
+  @Test
+  void likeOnNullIsUnknown() {
+    assertFalse(matches((root, query, cb) -> cb.notLike(root.<String>get("title"), "x%"), Ticket.titled(null)));
+  }
+
+  @Test
+  void caseFunctionsIgnoreDefaultLocale() {
+    Locale defaultLocale = Locale.getDefault();
+    Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+    try {
+      assertTrue(matches((root, query, cb) -> cb.equal(cb.lower(root.<String>get("title")), "title"), Ticket.titled("TITLE")));
+      assertTrue(matches((root, query, cb) -> cb.equal(cb.upper(root.<String>get("title")), "TITLE"), Ticket.titled("title")));
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  @Test
+  void navigatesNestedAttributes() {
+    Ticket paris = new Ticket("a", null, null, null, new Address("Paris"), null);
+    QuerySculptor<Ticket> inParis = (root, query, cb) -> cb.equal(root.get("address").get("city"), "Paris");
+
+    assertTrue(matches(inParis, paris));
+    assertFalse(matches(inParis, Ticket.titled("homeless")));
+    assertTrue(matches((root, query, cb) -> cb.isNull(root.get("address").get("city")), Ticket.titled("homeless")));
+  }
+
+  @Test
+  void evaluatesCollectionsAndStringFunctions() {
+    Ticket tagged = new Ticket(" padded ", null, null, null, null, Set.of("bug"));
+
+    assertTrue(matches((root, query, cb) -> cb.isMember("bug", root.<Set<String>>get("tags")), tagged));
+    assertTrue(matches((root, query, cb) -> cb.isNotEmpty(root.<Set<String>>get("tags")), tagged));
+    assertTrue(matches((root, query, cb) -> cb.equal(cb.trim(root.<String>get("title")), "padded"), tagged));
+    assertTrue(matches((root, query, cb) -> cb.equal(cb.length(root.<String>get("title")), 8), tagged));
+    assertTrue(matches((root, query, cb) -> cb.equal(cb.coalesce(root.<Integer>get("points"), 0), 0), tagged));
+  }
+
+  @Test
+  void rejectsUnsupportedCriteria() {
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> InMemoryEvaluator.compile((root, query, cb) -> cb.isTrue(cb.function("f", Boolean.class)), Ticket.class));
+  }
+
+  @Test
+  void rejectsUnknownAttributes() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> InMemoryEvaluator.compile((root, query, cb) -> cb.isNull(root.get("missing")), Ticket.class));
+  }
+}
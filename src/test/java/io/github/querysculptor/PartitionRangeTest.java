@@ -0,0 +1,89 @@
+package io.github.querysculptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PartitionRangeTest {
+
+  /** Asserts the ranges are ordered, contiguous, cover exactly [min, max] and respect the count. */
+  private static void assertCovers(long min, long max, int partitions) {
+    List<PartitionRange> ranges = PartitionRange.split(min, max, partitions);
+
+    assertTrue(ranges.size() <= partitions, "more slices than partitions: " + ranges);
+    assertEquals(min, ranges.get(0).lower());
+    assertEquals(max, ranges.get(ranges.size() - 1).upper());
+    BigInteger covered = BigInteger.ZERO;
+    for (int i = 0; i < ranges.size(); i++) {
+      PartitionRange range = ranges.get(i);
+      assertTrue(range.lower() <= range.upper(), "empty slice: " + range);
+      if (i > 0) {
+        assertEquals(ranges.get(i - 1).upper() + 1, range.lower());
+      }
+      covered = covered.add(BigInteger.valueOf(range.upper()).subtract(BigInteger.valueOf(range.lower())).add(BigInteger.ONE));
+    }
+    assertEquals(BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE), covered);
+  }
+
+  @Test
+  void splitsEvenly() {
+    assertEquals(
+        List.of(new PartitionRange(1, 5), new PartitionRange(6, 10)),
+        PartitionRange.split(1, 10, 2));
+  }
+
+  @Test
+  void narrowsTheLastSlice() {
+    assertEquals(
+        List.of(new PartitionRange(0, 3), new PartitionRange(4, 7), new PartitionRange(8, 9)),
+        PartitionRange.split(0, 9, 3));
+  }
+
+  @Test
+  void neverCreatesMoreSlicesThanValues() {
+    assertEquals(List.of(new PartitionRange(7, 7)), PartitionRange.split(7, 7, 8));
+    assertEquals(
+        List.of(new PartitionRange(1, 1), new PartitionRange(2, 2), new PartitionRange(3, 3)),
+        PartitionRange.split(1, 3, 10));
+  }
+
+  @Test
+  void coversSmallRanges() {
+    for (int partitions = 1; partitions <= 12; partitions++) {
+      for (long max = -5; max <= 20; max++) {
+        assertCovers(-5, max, partitions);
+      }
+    }
+  }
+
+  @Test
+  void coversRangesWiderThanLongMaxValue() {
+    assertCovers(Long.MIN_VALUE, Long.MAX_VALUE, 1);
+    assertCovers(Long.MIN_VALUE, Long.MAX_VALUE, 2);
+    assertCovers(Long.MIN_VALUE, Long.MAX_VALUE, 7);
+    assertCovers(Long.MIN_VALUE, Long.MAX_VALUE, 1000);
+    assertCovers(-1, Long.MAX_VALUE, 3);
+    assertCovers(Long.MIN_VALUE, 0, 3);
+    assertEquals(
+        List.of(new PartitionRange(Long.MIN_VALUE, -1), new PartitionRange(0, Long.MAX_VALUE)),
+        PartitionRange.split(Long.MIN_VALUE, Long.MAX_VALUE, 2));
+  }
+
+  @Test
+  void coversRangesEndingAtTheLongBounds() {
+    assertCovers(Long.MAX_VALUE - 10, Long.MAX_VALUE, 4);
+    assertCovers(Long.MAX_VALUE - 1, Long.MAX_VALUE, 4);
+    assertCovers(Long.MIN_VALUE, Long.MIN_VALUE + 10, 4);
+    assertCovers(Long.MAX_VALUE, Long.MAX_VALUE, 4);
+  }
+
+  @Test
+  void rejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> PartitionRange.split(0, 10, 0));
+    assertThrows(IllegalArgumentException.class, () -> PartitionRange.split(10, 0, 2));
+  }
+}